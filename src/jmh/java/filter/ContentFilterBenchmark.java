@@ -0,0 +1,62 @@
+package filter;
+
+import com.gbsb.tripmate.util.AhoCorasick;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+// 금칙어 사전 크기별 초당 처리 메시지 수: ./gradlew jmh
+// 메시지는 한글 40자 내외, 약 10%에 금칙어가 섞여 있다
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ContentFilterBenchmark {
+
+    private static final int MESSAGES = 1024;
+
+    @Param({"100", "10000", "100000"})
+    private int dictionarySize;
+
+    private AhoCorasick automaton;
+    private String[] messages;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        Set<String> words = new LinkedHashSet<>();
+        while (words.size() < dictionarySize) {
+            words.add(syllables(random, 2 + random.nextInt(4)));
+        }
+        automaton = AhoCorasick.build(words);
+
+        List<String> dictionary = new ArrayList<>(words);
+        messages = new String[MESSAGES];
+        for (int i = 0; i < MESSAGES; i++) {
+            StringBuilder message = new StringBuilder(syllables(random, 20));
+            if (random.nextInt(10) == 0) {
+                message.append(' ').append(dictionary.get(random.nextInt(dictionary.size())));
+            }
+            message.append(' ').append(syllables(random, 20));
+            messages[i] = message.toString();
+        }
+    }
+
+    @Benchmark
+    public String mask() {
+        return automaton.mask(messages[next++ & (MESSAGES - 1)]);
+    }
+
+    private static String syllables(Random random, int length) {
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            builder.append((char) ('가' + random.nextInt('힣' - '가' + 1)));
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,112 @@
+package store;
+
+import com.gbsb.tripmate.TripMateApplication;
+import com.gbsb.tripmate.dto.ChatMessageResponse;
+import com.gbsb.tripmate.entity.ChatRoom;
+import com.gbsb.tripmate.repository.ChatRoomRepository;
+import com.gbsb.tripmate.store.ChatEntry;
+import com.gbsb.tripmate.store.ChatStore;
+import com.gbsb.tripmate.util.SnowflakeIdGenerator;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Files;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// ChatStore 백엔드별 쓰기 처리량과 기록 조회 지연: ./gradlew jmh -Pjmh.includes=ChatStoreBenchmark
+// jpa는 H2 메모리 DB(MySQL 모드)에 write-behind 배치 INSERT, segment는 임시 디렉터리의 세그먼트 로그
+// write: BATCH 개를 append 한 뒤 저장 완료까지 기다린 시간 기준 초당 메시지 수
+// history: 임의 채팅방의 최근 50개 조회 지연 분포
+@State(Scope.Benchmark)
+public class ChatStoreBenchmark {
+
+    private static final int ROOMS = 100;
+    private static final int HISTORY_PER_ROOM = 1000;
+    private static final int BATCH = 500;
+
+    @Param({"jpa", "segment"})
+    private String store;
+
+    private ConfigurableApplicationContext context;
+    private ChatStore chatStore;
+    private SnowflakeIdGenerator idGenerator;
+    private long[] roomIds;
+    private AtomicLong[] sequences;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        context = new SpringApplicationBuilder(TripMateApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:chatstore;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER;DB_CLOSE_DELAY=-1",
+                        "spring.datasource.driver-class-name=org.h2.Driver",
+                        "spring.datasource.username=sa",
+                        "spring.datasource.password=",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=WARN",
+                        "cache.redis.enabled=false",
+                        "management.health.redis.enabled=false",
+                        "chat.broker.mode=simple",
+                        "jwt.secret=benchmark-secret-key-0123456789-abcdefghijklmnop",
+                        "jwt.expiration=3600000",
+                        "kakaomap.key=benchmark",
+                        "chat.store.type=" + store,
+                        "chat.store.segment.dir=" + Files.createTempDirectory("chat-log"))
+                .run();
+        chatStore = context.getBean(ChatStore.class);
+        idGenerator = context.getBean(SnowflakeIdGenerator.class);
+
+        ChatRoomRepository chatRoomRepository = context.getBean(ChatRoomRepository.class);
+        roomIds = new long[ROOMS];
+        sequences = new AtomicLong[ROOMS];
+        for (int i = 0; i < ROOMS; i++) {
+            roomIds[i] = chatRoomRepository.save(ChatRoom.builder().name("bench-" + i).isDeleted(false).build()).getRoomId();
+            sequences[i] = new AtomicLong();
+        }
+        for (int i = 0; i < ROOMS * HISTORY_PER_ROOM; i++) {
+            append(i % ROOMS);
+        }
+        chatStore.flush();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @OperationsPerInvocation(BATCH)
+    public void write() {
+        for (int i = 0; i < BATCH; i++) {
+            append(next++ % ROOMS);
+        }
+        chatStore.flush();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public List<ChatMessageResponse> history() {
+        long roomId = roomIds[ThreadLocalRandom.current().nextInt(ROOMS)];
+        return chatStore.findHistory(roomId, Long.MAX_VALUE, 50);
+    }
+
+    private void append(int room) {
+        ChatEntry entry = new ChatEntry(idGenerator.nextId(), roomIds[room], null,
+                null, "여행하는호랑이", "내일 아침 9시에 제주공항 3번 게이트 앞에서 만나요!", LocalDateTime.now());
+        while (!chatStore.append(entry, sequences[room]::incrementAndGet)) {
+            // write-behind 큐가 가득 차면 비워질 때까지 대기
+            chatStore.flush();
+        }
+    }
+}
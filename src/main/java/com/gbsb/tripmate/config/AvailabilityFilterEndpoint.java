@@ -0,0 +1,33 @@
+package com.gbsb.tripmate.config;
+
+import com.gbsb.tripmate.service.UserAvailabilityFilter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+// GET /actuator/availabilityfilter: 상태 조회, POST: 사용자 테이블로 재빌드
+@Component
+@Endpoint(id = "availabilityfilter")
+@RequiredArgsConstructor
+public class AvailabilityFilterEndpoint {
+
+    private final UserAvailabilityFilter userAvailabilityFilter;
+
+    @ReadOperation
+    public Map<String, Object> status() {
+        return Map.of(
+                "ready", userAvailabilityFilter.isReady(),
+                "emailExpectedFpp", userAvailabilityFilter.expectedFpp(true),
+                "nicknameExpectedFpp", userAvailabilityFilter.expectedFpp(false));
+    }
+
+    @WriteOperation
+    public Map<String, Object> rebuild() {
+        long users = userAvailabilityFilter.rebuild();
+        return Map.of("users", users);
+    }
+}
@@ -0,0 +1,24 @@
+package com.gbsb.tripmate.config;
+
+import com.gbsb.tripmate.messaging.ChatBroadcastTransport;
+import com.gbsb.tripmate.messaging.ChatBrokerRelay;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.messaging.MessageChannel;
+
+// chat.broker.mode=redis 일 때 여러 노드가 채팅 메시지를 공유하도록 relay 등록
+// simple(기본값)이면 기존처럼 같은 JVM의 세션에만 전달한다.
+@Configuration
+@ConditionalOnProperty(name = "chat.broker.mode", havingValue = "redis")
+public class ChatBrokerConfig {
+
+    // brokerChannel에 등록되는 인터셉터가 brokerChannel을 참조하므로 지연 주입
+    @Bean
+    public ChatBrokerRelay chatBrokerRelay(ChatBroadcastTransport chatBroadcastTransport,
+                                           @Lazy @Qualifier("brokerChannel") MessageChannel brokerChannel) {
+        return new ChatBrokerRelay(chatBroadcastTransport, brokerChannel);
+    }
+}
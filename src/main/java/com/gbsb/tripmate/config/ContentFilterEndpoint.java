@@ -0,0 +1,33 @@
+package com.gbsb.tripmate.config;
+
+import com.gbsb.tripmate.service.ContentFilter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.Map;
+
+// GET /actuator/contentfilter: 이 노드의 사전 상태 조회, POST: 모든 노드의 사전 파일 재로딩 (운영자 전용)
+// 사전 파일은 노드마다 읽으므로 재로딩 전에 모든 노드의 파일을 먼저 바꿔 두어야 한다
+@Component
+@Endpoint(id = "contentfilter")
+@RequiredArgsConstructor
+public class ContentFilterEndpoint {
+
+    private final ContentFilter contentFilter;
+
+    @ReadOperation
+    public Map<String, Object> status() {
+        return Map.of(
+                "words", contentFilter.wordCount(),
+                "loadedAt", contentFilter.loadedAt());
+    }
+
+    @WriteOperation
+    public Map<String, Object> reload() throws IOException {
+        return Map.of("words", contentFilter.reloadAll());
+    }
+}
@@ -1,16 +1,23 @@
 package com.gbsb.tripmate.config;
 
+import com.gbsb.tripmate.security.AdminAuthorities;
+import com.gbsb.tripmate.security.BoundedPasswordEncoder;
 import com.gbsb.tripmate.security.JwtAuthenticationFilter;
+import com.gbsb.tripmate.security.PasswordHashingExecutor;
+import com.gbsb.tripmate.service.CustomUserDetailsService;
+import com.gbsb.tripmate.service.TokenVersionService;
 import com.gbsb.tripmate.util.JwtUtil;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
@@ -21,22 +28,31 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 public class SecurityConfig {
 
     private final JwtUtil jwtUtil;
-    private final UserDetailsService userDetailsService;
+    private final CustomUserDetailsService userDetailsService;
+    private final TokenVersionService tokenVersionService;
+    private final AdminAuthorities adminAuthorities;
 
     @Autowired
-    public SecurityConfig(JwtUtil jwtUtil, UserDetailsService userDetailsService) {
+    public SecurityConfig(JwtUtil jwtUtil, CustomUserDetailsService userDetailsService, TokenVersionService tokenVersionService,
+                          AdminAuthorities adminAuthorities) {
         this.jwtUtil = jwtUtil;
         this.userDetailsService = userDetailsService;
+        this.tokenVersionService = tokenVersionService;
+        this.adminAuthorities = adminAuthorities;
     }
 
     @Bean
     public JwtAuthenticationFilter jwtAuthenticationFilter() {
-        return new JwtAuthenticationFilter(jwtUtil, userDetailsService);
+        return new JwtAuthenticationFilter(jwtUtil, userDetailsService, tokenVersionService, adminAuthorities);
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(PasswordHashingExecutor passwordHashingExecutor,
+                                           MeterRegistry meterRegistry,
+                                           @Value("${password.hashing.bcrypt-strength:10}") int strength,
+                                           @Value("${password.hashing.rehash-on-login:false}") boolean rehashOnLogin) {
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(strength), passwordHashingExecutor,
+                rehashOnLogin, meterRegistry);
     }
 
     @Bean
@@ -49,8 +65,13 @@ public class SecurityConfig {
         http
                 .csrf(csrf -> csrf.disable())
                 .authorizeHttpRequests(auth -> auth
-                        .requestMatchers("/api/auth/**", "/meetings","/websocket/**").permitAll()
+                        .requestMatchers("/api/auth/**", "/meetings/feed", "/websocket/**", "/ws").permitAll()
+                        // 페이지 번호 기반 모임 목록은 관리자 화면 전용 (앱은 /meetings/feed)
+                        .requestMatchers(HttpMethod.GET, "/meetings").hasRole(AdminAuthorities.ROLE)
                         .requestMatchers("/v3/api-docs/**", "/swagger-ui/**", "/swagger-ui.html").permitAll()
+                        // 운영용 actuator 엔드포인트(필터 재빌드 등)는 health 외에 운영자만 호출
+                        .requestMatchers("/actuator/health", "/actuator/health/**").permitAll()
+                        .requestMatchers("/actuator/**").hasRole(AdminAuthorities.ROLE)
                         .anyRequest().authenticated()
                 )
                 .sessionManagement(session -> session
@@ -1,5 +1,11 @@
 package com.gbsb.tripmate.config;
 
+import com.gbsb.tripmate.enums.ErrorCode;
+import com.gbsb.tripmate.exception.MeetingException;
+import com.gbsb.tripmate.security.JwtPrincipal;
+import com.gbsb.tripmate.service.ChatSessionRegistry;
+import com.gbsb.tripmate.service.CustomUserDetailsService;
+import com.gbsb.tripmate.service.TokenVersionService;
 import com.gbsb.tripmate.util.JwtUtil;
 import lombok.AllArgsConstructor;
 import org.springframework.messaging.Message;
@@ -8,21 +14,20 @@ import org.springframework.messaging.simp.stomp.StompCommand;
 import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
 import org.springframework.messaging.support.ChannelInterceptor;
 import org.springframework.messaging.support.MessageHeaderAccessor;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.stereotype.Component;
 
-import java.nio.file.AccessDeniedException;
-
 @Component
 @AllArgsConstructor
 public class WebSocketAuthInterceptor implements ChannelInterceptor {
 
+    private static final String CHAT_ROOM_DESTINATION_PREFIX = "/sub/chat/room";
+    // 세션별 큐는 /user/queue/... 로만 구독 (다른 세션의 /queue/...-user{sessionId}를 직접 구독하지 못하도록)
+    private static final String QUEUE_DESTINATION_PREFIX = "/queue/";
+
     private final JwtUtil jwtUtil;
-    private final UserDetailsService userDetailsService;
+    private final CustomUserDetailsService userDetailsService;
+    private final TokenVersionService tokenVersionService;
+    private final ChatSessionRegistry chatSessionRegistry;
 
     @Override
     public Message<?> preSend(Message<?> message, MessageChannel channel) {
@@ -33,26 +38,53 @@ public class WebSocketAuthInterceptor implements ChannelInterceptor {
 
             if (token != null && token.startsWith("Bearer ")) {
                 token = token.substring(7);
-                Authentication authentication = validateToken(token);
-                SecurityContextHolder.getContext().setAuthentication(authentication);
-                accessor.setUser(authentication);
+                // 세션 연결 시 한 번만 인증하고 이후 메시지는 세션에 저장된 principal 사용
+                JwtPrincipal principal = validateToken(token);
+                accessor.setUser(principal);
+                chatSessionRegistry.register(accessor, principal.getUserId());
+            }
+        } else if (StompCommand.SUBSCRIBE.equals(accessor.getCommand())) {
+            String destination = accessor.getDestination();
+
+            if (destination != null && destination.startsWith(CHAT_ROOM_DESTINATION_PREFIX)) {
+                Long roomId = parseRoomId(destination);
+                if (!(accessor.getUser() instanceof JwtPrincipal principal)
+                        || !chatSessionRegistry.isMember(accessor, principal.getUserId(), roomId)) {
+                    throw new MeetingException(ErrorCode.USER_NOT_A_MEMBER_OF_MEETING);
+                }
+            } else if (destination != null && destination.startsWith(QUEUE_DESTINATION_PREFIX)) {
+                throw new MeetingException(ErrorCode.INVALID_REQUEST);
             }
         }
         return message;
     }
 
-    private Authentication validateToken(String token) {
+    private JwtPrincipal validateToken(String token) {
         try {
-            String username = jwtUtil.getUsernameFromJWT(token);
-            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            JwtPrincipal principal = jwtUtil.verify(token);
+
+            // uid 클레임이 없는 이전 형식의 토큰은 DB에서 사용자 조회
+            if (principal.getUserId() == null) {
+                CustomUserDetailsService.CustomUserDetails userDetails =
+                        userDetailsService.loadUserProfile(principal.getUsername());
+                return new JwtPrincipal(userDetails.getUsername(), userDetails.getId(),
+                        userDetails.getUser().getNickname(), 0L, principal.getExpiration());
+            }
 
-            if (jwtUtil.validateToken(token)) {
-                return new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
-            } else {
-                throw new AccessDeniedException("Invallid JWT Token");
+            if (principal.getTokenVersion() < tokenVersionService.currentVersion(principal.getUserId())) {
+                throw new IllegalStateException("Revoked JWT token");
             }
+            return principal;
         } catch (Exception e) {
             throw new RuntimeException("JWT 토큰 처리 중 오류 발생", e);
         }
     }
+
+    private Long parseRoomId(String destination) {
+        try {
+            return Long.valueOf(destination.substring(CHAT_ROOM_DESTINATION_PREFIX.length()));
+        } catch (NumberFormatException e) {
+            throw new MeetingException(ErrorCode.CHATROOM_NOT_FOUND);
+        }
+    }
 }
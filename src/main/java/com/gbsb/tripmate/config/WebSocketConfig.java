@@ -1,23 +1,111 @@
 package com.gbsb.tripmate.config;
 
+import com.gbsb.tripmate.messaging.BackpressureWebSocketHandler;
+import com.gbsb.tripmate.messaging.ChatBrokerRelay;
+import com.gbsb.tripmate.messaging.CompactEnvelopeInterceptor;
+import com.gbsb.tripmate.messaging.DeflateHandshakeHandler;
+import com.gbsb.tripmate.messaging.SessionBackpressureRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.web.socket.config.annotation.*;
 
 @EnableWebSocketMessageBroker
 @Configuration
+@RequiredArgsConstructor
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    private final WebSocketAuthInterceptor webSocketAuthInterceptor;
+    private final ObjectProvider<ChatBrokerRelay> chatBrokerRelay;
+    private final SessionBackpressureRegistry sessionBackpressureRegistry;
+    private final CompactEnvelopeInterceptor compactEnvelopeInterceptor;
+
+    @Value("${websocket.native.compression:true}")
+    private boolean nativeCompression;
+
+    @Value("${websocket.inbound.core-pool-size:8}")
+    private int inboundCorePoolSize;
+
+    @Value("${websocket.inbound.max-pool-size:16}")
+    private int inboundMaxPoolSize;
+
+    @Value("${websocket.inbound.queue-capacity:10000}")
+    private int inboundQueueCapacity;
+
+    @Value("${websocket.outbound.core-pool-size:8}")
+    private int outboundCorePoolSize;
+
+    @Value("${websocket.outbound.max-pool-size:16}")
+    private int outboundMaxPoolSize;
+
+    @Value("${websocket.outbound.queue-capacity:10000}")
+    private int outboundQueueCapacity;
+
+    @Value("${websocket.transport.send-buffer-size-limit:524288}")
+    private int sendBufferSizeLimit;
+
+    @Value("${websocket.transport.send-time-limit-ms:10000}")
+    private int sendTimeLimit;
+
+    @Value("${websocket.transport.message-size-limit:65536}")
+    private int messageSizeLimit;
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
         config.setApplicationDestinationPrefixes("/pub");
-        config.enableSimpleBroker("/sub");
+        // /queue: 보낸 세션에만 돌려주는 오류 (/user/queue/errors)
+        config.enableSimpleBroker("/sub", "/queue");
+        // 세션별 전송 순서 유지 (outbound 스레드 풀에서 순서가 바뀌지 않도록)
+        config.setPreservePublishOrder(true);
+        // chat.broker.mode=redis 이면 채팅방 메시지를 Redis를 거쳐 모든 노드에 전달
+        chatBrokerRelay.ifAvailable(relay -> config.configureBrokerChannel().interceptors(relay));
     }
 
     @Override
     public void registerStompEndpoints(StompEndpointRegistry registry) {
+        // 세션별 수신 순서 유지 (같은 클라이언트의 메시지가 inbound 스레드 풀에서 순서가 바뀌지 않도록)
+        registry.setPreserveReceiveOrder(true);
+
+        // 브라우저용 SockJS 엔드포인트
         registry.addEndpoint("/websocket")
                 .setAllowedOrigins("http://localhost:63342", "http://localhost:8080")
                 .withSockJS();
+
+        // 모바일 앱용 네이티브 웹소켓 엔드포인트 (SockJS 프레이밍 없음, permessage-deflate, 축약 메시지)
+        registry.addEndpoint("/ws")
+                .setAllowedOrigins("http://localhost:63342", "http://localhost:8080")
+                .setHandshakeHandler(new DeflateHandshakeHandler(nativeCompression))
+                .addInterceptors(CompactEnvelopeInterceptor.handshakeInterceptor());
+    }
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        registration.interceptors(webSocketAuthInterceptor, compactEnvelopeInterceptor);
+        registration.taskExecutor()
+                .corePoolSize(inboundCorePoolSize)
+                .maxPoolSize(inboundMaxPoolSize)
+                .queueCapacity(inboundQueueCapacity);
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        registration.interceptors(sessionBackpressureRegistry, compactEnvelopeInterceptor);
+        registration.taskExecutor()
+                .corePoolSize(outboundCorePoolSize)
+                .maxPoolSize(outboundMaxPoolSize)
+                .queueCapacity(outboundQueueCapacity);
+    }
+
+    // 느린 클라이언트 한 명 때문에 메모리가 계속 늘지 않도록 세션별 전송 버퍼/시간 제한
+    // 한도 초과 전에 SessionBackpressureRegistry가 대기 프레임 수 기준으로 먼저 정책을 적용한다
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        registration.setSendBufferSizeLimit(sendBufferSizeLimit)
+                .setSendTimeLimit(sendTimeLimit)
+                .setMessageSizeLimit(messageSizeLimit)
+                .addDecoratorFactory(handler -> new BackpressureWebSocketHandler(handler, sessionBackpressureRegistry));
     }
 }
@@ -0,0 +1,24 @@
+package com.gbsb.tripmate.config;
+
+import com.gbsb.tripmate.messaging.SessionBackpressureRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// GET /actuator/websocketsessions?limit=: 전송 대기 프레임이 많은 세션 목록
+@Component
+@Endpoint(id = "websocketsessions")
+@RequiredArgsConstructor
+public class WebSocketSessionsEndpoint {
+
+    private final SessionBackpressureRegistry sessionBackpressureRegistry;
+
+    @ReadOperation
+    public List<SessionBackpressureRegistry.SessionStats> sessions(@Nullable Integer limit) {
+        return sessionBackpressureRegistry.topSessions(limit == null ? 50 : limit);
+    }
+}
@@ -3,10 +3,13 @@ package com.gbsb.tripmate.controller;
 import com.gbsb.tripmate.dto.ApiResponse;
 import com.gbsb.tripmate.dto.JwtAuthenticationResponse;
 import com.gbsb.tripmate.dto.LoginRequest;
+import com.gbsb.tripmate.dto.RefreshTokenRequest;
 import com.gbsb.tripmate.dto.SignUpRequest;
 import com.gbsb.tripmate.entity.User;
-import com.gbsb.tripmate.enums.ErrorCode;
-import com.gbsb.tripmate.exception.MeetingException;
+import com.gbsb.tripmate.security.PasswordHashingExecutor;
+import com.gbsb.tripmate.service.CustomUserDetailsService;
+import com.gbsb.tripmate.service.RefreshTokenService;
+import com.gbsb.tripmate.service.TokenVersionService;
 import com.gbsb.tripmate.service.UserService;
 import com.gbsb.tripmate.util.JwtUtil;
 import io.swagger.v3.oas.annotations.Operation;
@@ -17,11 +20,10 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/auth")
@@ -36,17 +38,21 @@ public class AuthController {
     @Autowired
     private JwtUtil jwtUtil;
 
+    @Autowired
+    private TokenVersionService tokenVersionService;
+
+    @Autowired
+    private PasswordHashingExecutor passwordHashingExecutor;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
     @PostMapping("/signup")
     @Operation(summary = "회원가입", description = "새로운 사용자를 등록합니다.")
-    public ResponseEntity<?> registerUser(
+    public CompletableFuture<ResponseEntity<?>> registerUser(
             @Parameter(description = "회원가입 정보", required = true)
             @Valid @RequestBody SignUpRequest signUpRequest) {
-        if (userService.existsByEmail(signUpRequest.getEmail())) {
-            throw new MeetingException(ErrorCode.INVALID_REQUEST, "Email is already in use");
-        }
-        if (userService.existsByNickname(signUpRequest.getNickname())) {
-            throw new MeetingException(ErrorCode.INVALID_REQUEST, "Nickname is already in use");
-        }
+        // 이메일/닉네임 중복은 registerUser에서 DB로 확인
         User user = new User();
         user.setEmail(signUpRequest.getEmail());
         user.setPassword(signUpRequest.getPassword());
@@ -56,27 +62,47 @@ public class AuthController {
         user.setName(signUpRequest.getName());
         user.setIntroduce(signUpRequest.getIntroduce());
 
-        userService.registerUser(user);
-
-        return ResponseEntity.ok(new ApiResponse(true, "User registered successfully"));
+        // 비밀번호 해싱이 포함되므로 로그인과 같이 해싱 전용 스레드에서 처리한다
+        return passwordHashingExecutor.submit(() -> {
+            userService.registerUser(user);
+            return ResponseEntity.ok(new ApiResponse(true, "User registered successfully"));
+        });
     }
 
     @PostMapping("/signin")
     @Operation(summary = "로그인", description = "사용자 인증을 수행합니다.")
-    public ResponseEntity<?> authenticateUser(
+    public CompletableFuture<ResponseEntity<?>> authenticateUser(
             @Parameter(description = "로그인 정보", required = true)
             @Valid @RequestBody LoginRequest loginRequest) {
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(
-                        loginRequest.getEmail(),
-                        loginRequest.getPassword()
-                )
+        UsernamePasswordAuthenticationToken authenticationRequest = new UsernamePasswordAuthenticationToken(
+                loginRequest.getEmail(),
+                loginRequest.getPassword()
         );
 
-        SecurityContextHolder.getContext().setAuthentication(authentication);
+        // 비밀번호 검증은 해싱 전용 스레드에서 수행해 요청 스레드를 점유하지 않는다
+        return passwordHashingExecutor.submit(() -> authenticationManager.authenticate(authenticationRequest))
+                .<ResponseEntity<?>>thenApply(authentication -> {
+                    CustomUserDetailsService.CustomUserDetails principal =
+                            (CustomUserDetailsService.CustomUserDetails) authentication.getPrincipal();
+                    long tokenVersion = tokenVersionService.currentVersion(principal.getId());
+                    String jwt = jwtUtil.generateToken(authentication, tokenVersion);
+                    String refreshToken = refreshTokenService.issue(principal.getId(), principal.getUsername(),
+                            principal.getUser().getNickname(), tokenVersion);
+                    return ResponseEntity.ok(new JwtAuthenticationResponse(jwt, refreshToken));
+                });
+    }
 
-        String jwt = jwtUtil.generateToken(authentication);
-        return ResponseEntity.ok(new JwtAuthenticationResponse(jwt));
+    @PostMapping("/refresh")
+    @Operation(summary = "토큰 재발급", description = "리프레시 토큰으로 새 액세스 토큰과 리프레시 토큰을 발급합니다.")
+    public ResponseEntity<?> refreshToken(
+            @Parameter(description = "리프레시 토큰", required = true)
+            @Valid @RequestBody RefreshTokenRequest refreshTokenRequest) {
+        // 비밀번호 검증, 사용자 조회 없이 Redis의 세션 정보로 발급
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(refreshTokenRequest.getRefreshToken());
+        RefreshTokenService.RefreshSession session = rotation.getSession();
+        String jwt = jwtUtil.generateToken(session.getUserId(), session.getEmail(),
+                session.getNickname(), session.getTokenVersion());
+        return ResponseEntity.ok(new JwtAuthenticationResponse(jwt, rotation.getRefreshToken()));
     }
 
     @GetMapping("/check-email")
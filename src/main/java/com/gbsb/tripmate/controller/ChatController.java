@@ -0,0 +1,89 @@
+package com.gbsb.tripmate.controller;
+
+import com.gbsb.tripmate.dto.BaseResponse;
+import com.gbsb.tripmate.dto.ChatHistoryResponse;
+import com.gbsb.tripmate.dto.ChatMessageDTO;
+import com.gbsb.tripmate.dto.ChatSearchHit;
+import com.gbsb.tripmate.dto.ChatSyncResponse;
+import com.gbsb.tripmate.dto.UnreadCountResponse;
+import com.gbsb.tripmate.service.ChatService;
+import com.gbsb.tripmate.service.CustomUserDetailsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/chat")
+@Tag(name = "Chat", description = "채팅 API")
+public class ChatController {
+
+    private final ChatService chatService;
+
+    @GetMapping("/rooms/{roomId}/messages")
+    @Operation(summary = "채팅 기록 조회", description = "before 메시지 id 이전의 메시지를 최신순으로 조회합니다.",
+            security = @SecurityRequirement(name = "bearer-jwt"))
+    public BaseResponse<ChatHistoryResponse> getHistory(
+            @Parameter(description = "채팅방 ID") @PathVariable Long roomId,
+            @Parameter(description = "이 id 이전의 메시지부터 조회 (첫 페이지는 생략)") @RequestParam(required = false) Long before,
+            @Parameter(description = "조회할 메시지 수 (최대 100)") @RequestParam(defaultValue = "30") int limit,
+            @Parameter(hidden = true) @AuthenticationPrincipal CustomUserDetailsService.CustomUserDetails user) {
+        return new BaseResponse<>("채팅 기록 조회 성공", chatService.getHistory(user.getId(), roomId, before, limit));
+    }
+
+    @GetMapping("/rooms/{roomId}/messages/recent")
+    @Operation(summary = "최근 메시지 조회", description = "채팅방 입장 시 보여줄 최근 메시지를 오래된 순으로 조회합니다.",
+            security = @SecurityRequirement(name = "bearer-jwt"))
+    public BaseResponse<List<ChatMessageDTO>> getRecentMessages(
+            @Parameter(description = "채팅방 ID") @PathVariable Long roomId,
+            @Parameter(description = "조회할 메시지 수") @RequestParam(defaultValue = "50") int limit,
+            @Parameter(hidden = true) @AuthenticationPrincipal CustomUserDetailsService.CustomUserDetails user) {
+        return new BaseResponse<>("최근 메시지 조회 성공", chatService.getRecentMessages(user.getId(), roomId, limit));
+    }
+
+    @GetMapping("/rooms/{roomId}/messages/since")
+    @Operation(summary = "누락 메시지 조회", description = "재연결 시 seq 이후의 메시지를 순번 순으로 조회합니다.",
+            security = @SecurityRequirement(name = "bearer-jwt"))
+    public BaseResponse<ChatSyncResponse> getMessagesSince(
+            @Parameter(description = "채팅방 ID") @PathVariable Long roomId,
+            @Parameter(description = "마지막으로 받은 메시지의 seq") @RequestParam long seq,
+            @Parameter(description = "조회할 메시지 수 (최대 100)") @RequestParam(defaultValue = "100") int limit,
+            @Parameter(hidden = true) @AuthenticationPrincipal CustomUserDetailsService.CustomUserDetails user) {
+        return new BaseResponse<>("누락 메시지 조회 성공", chatService.getMessagesSince(user.getId(), roomId, seq, limit));
+    }
+
+    @GetMapping("/rooms/{roomId}/search")
+    @Operation(summary = "채팅 메시지 검색", description = "채팅방 메시지를 검색해 관련도 순으로 메시지 id와 스니펫을 반환합니다.",
+            security = @SecurityRequirement(name = "bearer-jwt"))
+    public BaseResponse<List<ChatSearchHit>> searchMessages(
+            @Parameter(description = "채팅방 ID") @PathVariable Long roomId,
+            @Parameter(description = "검색어 (공백으로 구분한 단어 중 하나라도 포함)") @RequestParam String q,
+            @Parameter(description = "조회할 메시지 수 (최대 50)") @RequestParam(defaultValue = "20") int limit,
+            @Parameter(hidden = true) @AuthenticationPrincipal CustomUserDetailsService.CustomUserDetails user) {
+        return new BaseResponse<>("채팅 메시지 검색 성공", chatService.searchMessages(user.getId(), roomId, q, limit));
+    }
+
+    @GetMapping("/unread")
+    @Operation(summary = "안 읽은 메시지 수 조회", description = "참여 중인 모든 채팅방의 안 읽은 메시지 수를 조회합니다.",
+            security = @SecurityRequirement(name = "bearer-jwt"))
+    public BaseResponse<List<UnreadCountResponse>> getUnreadCounts(
+            @Parameter(hidden = true) @AuthenticationPrincipal CustomUserDetailsService.CustomUserDetails user) {
+        return new BaseResponse<>("안 읽은 메시지 수 조회 성공", chatService.getUnreadCounts(user.getId()));
+    }
+
+    @PutMapping("/rooms/{roomId}/read")
+    @Operation(summary = "읽음 처리", description = "messageId까지 읽은 것으로 처리하고 남은 안 읽은 메시지 수를 반환합니다.",
+            security = @SecurityRequirement(name = "bearer-jwt"))
+    public BaseResponse<Long> markRead(
+            @Parameter(description = "채팅방 ID") @PathVariable Long roomId,
+            @Parameter(description = "마지막으로 읽은 메시지 id") @RequestParam Long messageId,
+            @Parameter(hidden = true) @AuthenticationPrincipal CustomUserDetailsService.CustomUserDetails user) {
+        return new BaseResponse<>("읽음 처리 성공", chatService.markRead(user.getId(), roomId, messageId));
+    }
+}
@@ -35,9 +35,20 @@ public class MeetingController {
         }
     }
 
-    // 모임 목록 조회
+    // 모임 피드 (앱 목록 화면)
+    @GetMapping("/feed")
+    @Operation(summary = "모임 피드 조회", description = "최신 모임부터 커서 기반으로 조회합니다. 다음 페이지는 응답의 nextCursor를 cursor로 넘깁니다.")
+    public MeetingFeedResponse getMeetingFeed(
+            @Parameter(description = "이전 응답의 nextCursor (첫 페이지는 생략)") @RequestParam(required = false) String cursor,
+            @Parameter(description = "페이지 크기 (최대 50)") @RequestParam(defaultValue = "20") int size
+    ) {
+        return meetingService.getMeetingFeed(cursor, size);
+    }
+
+    // 모임 목록 조회 (관리자 화면용, 전체 개수가 필요할 때만)
     @GetMapping
-    @Operation(summary = "모임 목록 조회", description = "모든 모임의 목록을 조회합니다.")
+    @Operation(summary = "모임 목록 조회", description = "페이지 번호로 모임 목록을 조회합니다. 관리자(ROLE_ADMIN) 전용이며 앱 목록은 /meetings/feed를 사용합니다.",
+            security = @SecurityRequirement(name = "bearer-jwt"))
     public Page<MeetingResponse> getMeetings(
             @Parameter(description = "페이지 번호") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "페이지 크기") @RequestParam(defaultValue = "10") int size,
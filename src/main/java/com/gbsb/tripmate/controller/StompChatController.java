@@ -1,52 +1,89 @@
 package com.gbsb.tripmate.controller;
 
 import com.gbsb.tripmate.dto.ChatMessageDTO;
-import com.gbsb.tripmate.entity.Meeting;
-import com.gbsb.tripmate.entity.User;
+import com.gbsb.tripmate.dto.ErrorResponse;
 import com.gbsb.tripmate.enums.ErrorCode;
 import com.gbsb.tripmate.exception.MeetingException;
-import com.gbsb.tripmate.repository.MeetingMemberRepository;
-import com.gbsb.tripmate.repository.MeetingRepository;
-import com.gbsb.tripmate.repository.UserRepository;
+import com.gbsb.tripmate.messaging.RoomLaneExecutor;
+import com.gbsb.tripmate.security.JwtPrincipal;
 import com.gbsb.tripmate.service.ChatService;
-import com.gbsb.tripmate.util.JwtUtil;
+import com.gbsb.tripmate.service.ChatSessionRegistry;
+import com.gbsb.tripmate.service.ContentFilter;
 import lombok.RequiredArgsConstructor;
-import org.springframework.messaging.handler.annotation.Header;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.handler.annotation.MessageExceptionHandler;
 import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.annotation.SendToUser;
 import org.springframework.stereotype.Controller;
 
+import java.util.concurrent.RejectedExecutionException;
+
+@Slf4j
 @Controller
 @RequiredArgsConstructor
 public class StompChatController {
 
+    // 메시지 처리 실패는 보낸 세션의 /user/queue/errors 로 ErrorResponse를 보낸다
+    private static final String ERROR_DESTINATION = "/queue/errors";
+
     private final SimpMessagingTemplate template;
-    private final JwtUtil jwtUtil;
-    private final UserRepository userRepository;
-    private final MeetingRepository meetingRepository;
-    private final MeetingMemberRepository meetingMemberRepository;
+    private final ChatSessionRegistry chatSessionRegistry;
     private final ChatService chatService;
+    private final ContentFilter contentFilter;
+    private final RoomLaneExecutor roomLaneExecutor;
 
     @MessageMapping(value = "/chat/message")
-    public void message(ChatMessageDTO message, @Header("Authorization") String token) {
-
-        String email = jwtUtil.getUsernameFromJWT(token.substring(7));
+    public void message(ChatMessageDTO message, SimpMessageHeaderAccessor accessor) {
 
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new MeetingException(ErrorCode.USER_NOT_FOUND));
+        // CONNECT 시 WebSocketAuthInterceptor가 등록한 principal 사용
+        if (!(accessor.getUser() instanceof JwtPrincipal user)) {
+            throw new MeetingException(ErrorCode.USER_NOT_FOUND);
+        }
 
         message.setWriter(user.getNickname());
 
-        Meeting meeting = meetingRepository.findById(message.getRoomId())
-                .orElseThrow(() -> new MeetingException(ErrorCode.MEETING_NOT_FOUND));
-
-        boolean isMember = meetingMemberRepository.existsByMeetingAndUser(meeting, user);
+        boolean isMember = chatSessionRegistry.isMember(accessor, user.getUserId(), message.getRoomId());
 
         if (isMember) {
-            chatService.addChat(message);
-            template.convertAndSend("/sub/chat/room" + message.getRoomId(), message);
+            message.setMessage(contentFilter.mask(message.getMessage()));
+            String sessionId = accessor.getSessionId();
+            // 순번 부여부터 브로드캐스트까지 채팅방 lane에서 도착 순서대로 처리
+            // lane에서 실패하면(SERVER_BUSY, 저장 오류 등) 호출이 이미 끝났으므로 보낸 세션에 직접 알린다
+            try {
+                roomLaneExecutor.execute(message.getRoomId(), () -> {
+                    chatService.addChat(message, user.getUserId());
+                    template.convertAndSend("/sub/chat/room" + message.getRoomId(), message);
+                }, e -> sendError(user, sessionId, e));
+            } catch (RejectedExecutionException e) {
+                throw new MeetingException(ErrorCode.SERVER_BUSY);
+            }
         } else {
             throw new MeetingException(ErrorCode.USER_NOT_A_MEMBER_OF_MEETING);
         }
     }
+
+    // 호출 중 바로 실패한 경우 (권한 없음, lane 큐 가득 참 등)
+    @MessageExceptionHandler
+    @SendToUser(destinations = ERROR_DESTINATION, broadcast = false)
+    public ErrorResponse handleException(Exception e) {
+        return toErrorResponse(e);
+    }
+
+    private void sendError(JwtPrincipal user, String sessionId, Exception e) {
+        SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        headers.setSessionId(sessionId);
+        headers.setLeaveMutable(true);
+        template.convertAndSendToUser(user.getName(), ERROR_DESTINATION, toErrorResponse(e), headers.getMessageHeaders());
+    }
+
+    private ErrorResponse toErrorResponse(Exception e) {
+        if (e instanceof MeetingException meetingException) {
+            return new ErrorResponse(meetingException.getErrorCode(), meetingException.getErrorMessage());
+        }
+        log.warn("Failed to process chat message: {}", e.getMessage());
+        return new ErrorResponse(ErrorCode.INTERNAL_SERVER_ERROR, ErrorCode.INTERNAL_SERVER_ERROR.getDescription());
+    }
 }
@@ -4,6 +4,7 @@ import com.gbsb.tripmate.dto.UpdateUserProfileRequest;
 import com.gbsb.tripmate.dto.UserResponse;
 import com.gbsb.tripmate.entity.Meeting;
 import com.gbsb.tripmate.entity.User;
+import com.gbsb.tripmate.security.PasswordHashingExecutor;
 import com.gbsb.tripmate.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -17,6 +18,7 @@ import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequiredArgsConstructor
@@ -24,6 +26,7 @@ import org.springframework.web.bind.annotation.*;
 @Tag(name = "User", description = "사용자 관리 API")
 public class UserController {
     private final UserService userService;
+    private final PasswordHashingExecutor passwordHashingExecutor;
 
     @GetMapping("/{userId}")
     @Operation(summary = "사용자 정보 조회", description = "인증된 사용자의 정보를 조회합니다")
@@ -45,10 +48,12 @@ public class UserController {
 
         @PutMapping("/{userId}")
         @Operation(summary = "사용자 프로필 업데이트", description = "인증된 사용자의 프로필을 업데이트합니다")
-        public ResponseEntity<User> updateUserProfile(
+        public CompletableFuture<ResponseEntity<User>> updateUserProfile(
                 @Parameter(description = "인증된 사용자 정보", required = true) @AuthenticationPrincipal UserDetails userDetails,
                 @Parameter(description = "업데이트할 사용자 프로필 정보", required = true) @RequestBody UpdateUserProfileRequest dto) {
-        return ResponseEntity.ok(userService.updateUserProfile(Long.valueOf(userDetails.getUsername()), dto));
+        Long userId = Long.valueOf(userDetails.getUsername());
+        // 새 비밀번호 해싱이 포함되므로 요청 스레드를 점유하지 않도록 해싱 전용 스레드에서 처리
+        return passwordHashingExecutor.submit(() -> ResponseEntity.ok(userService.updateUserProfile(userId, dto)));
         }
 
         @GetMapping("/{userId}/meetings")
@@ -0,0 +1,16 @@
+package com.gbsb.tripmate.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class ChatHistoryResponse {
+    // 최신 메시지부터 id 내림차순
+    private List<ChatMessageResponse> messages;
+    // 다음 요청의 before 값 (더 이상 없으면 null)
+    private Long nextCursor;
+    private boolean hasNext;
+}
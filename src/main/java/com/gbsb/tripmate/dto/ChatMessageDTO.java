@@ -15,12 +15,15 @@ public class ChatMessageDTO {
 
     private Long roomId;
     private Long id;
+    private Long seq;
     private String writer;
     private String message;
     private String createdAt;
 
     public Chat toChat(ChatRoom chatRoom) {
         return Chat.builder()
+                .id(id)
+                .seq(seq)
                 .message(message)
                 .writer(writer)
                 .chatRoom(chatRoom)
@@ -0,0 +1,18 @@
+package com.gbsb.tripmate.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+// 채팅 기록 조회용 프로젝션 (Chat 엔티티/ChatRoom 로딩 없이 필요한 컬럼만 조회)
+@Getter
+@AllArgsConstructor
+public class ChatMessageResponse {
+    private Long id;
+    private Long roomId;
+    private Long seq;
+    private String writer;
+    private String message;
+    private LocalDateTime createdAt;
+}
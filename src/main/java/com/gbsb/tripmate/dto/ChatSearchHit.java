@@ -0,0 +1,18 @@
+package com.gbsb.tripmate.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@AllArgsConstructor
+public class ChatSearchHit {
+    private Long messageId;
+    private Long seq;
+    private String writer;
+    // 검색어 주변을 자른 본문
+    private String snippet;
+    private LocalDateTime createdAt;
+    private double score;
+}
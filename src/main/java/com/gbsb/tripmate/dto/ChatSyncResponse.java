@@ -0,0 +1,17 @@
+package com.gbsb.tripmate.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class ChatSyncResponse {
+    // afterSeq 이후 메시지를 seq 오름차순으로
+    private List<ChatMessageResponse> messages;
+    // 채팅방의 마지막 순번
+    private long latestSeq;
+    // limit에 걸려 아직 남은 메시지가 있으면 true (마지막 메시지의 seq로 다시 요청)
+    private boolean hasMore;
+}
@@ -0,0 +1,43 @@
+package com.gbsb.tripmate.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+// 네이티브 웹소켓(/ws) 클라이언트용 축약 메시지
+// i: 메시지 id, r: 채팅방 id, s: 채팅방 내 순번, w: 작성자, m: 내용, t: 작성 시각(epoch ms)
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CompactChatMessage {
+
+    @JsonProperty("i")
+    private Long id;
+
+    @JsonProperty("r")
+    private Long roomId;
+
+    @JsonProperty("s")
+    private Long seq;
+
+    @JsonProperty("w")
+    private String writer;
+
+    @JsonProperty("m")
+    private String message;
+
+    @JsonProperty("t")
+    private Long createdAt;
+
+    public static CompactChatMessage from(ChatMessageDTO dto) {
+        Long createdAt = dto.getCreatedAt() == null ? null
+                : LocalDateTime.parse(dto.getCreatedAt()).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        return new CompactChatMessage(dto.getId(), dto.getRoomId(), dto.getSeq(), dto.getWriter(), dto.getMessage(), createdAt);
+    }
+}
@@ -5,9 +5,11 @@ import lombok.Getter;
 @Getter
 public class JwtAuthenticationResponse {
     private final String accessToken;
+    private final String refreshToken;
     private final String tokenType = "Bearer";
 
-    public JwtAuthenticationResponse(String accessToken) {
+    public JwtAuthenticationResponse(String accessToken, String refreshToken) {
         this.accessToken = accessToken;
+        this.refreshToken = refreshToken;
     }
 }
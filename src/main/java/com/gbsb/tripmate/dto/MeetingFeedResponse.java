@@ -0,0 +1,16 @@
+package com.gbsb.tripmate.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class MeetingFeedResponse {
+    // 최신 모임부터 (createdDate, id) 내림차순
+    private List<MeetingResponse> meetings;
+    // 다음 요청의 cursor 값 (더 이상 없으면 null)
+    private String nextCursor;
+    private boolean hasNext;
+}
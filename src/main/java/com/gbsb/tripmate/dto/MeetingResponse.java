@@ -15,4 +15,5 @@ public class MeetingResponse {
     private String leaderNickname;
     private LocalDate travelStartDate;
     private LocalDate travelEndDate;
+    private LocalDate createdDate;
 }
@@ -0,0 +1,15 @@
+package com.gbsb.tripmate.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Schema(description = "토큰 재발급 요청 DTO")
+public class RefreshTokenRequest {
+    @NotBlank
+    @Schema(description = "로그인 시 발급받은 리프레시 토큰")
+    private String refreshToken;
+}
@@ -0,0 +1,11 @@
+package com.gbsb.tripmate.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class UnreadCountResponse {
+    private Long roomId;
+    private long unreadCount;
+}
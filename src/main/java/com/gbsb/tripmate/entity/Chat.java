@@ -12,11 +12,19 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@Table(indexes = {
+        @Index(name = "idx_chat_room_id", columnList = "chatroom_id, id"),
+        @Index(name = "idx_chat_room_seq", columnList = "chatroom_id, seq")
+})
 public class Chat {
 
+    // ChatMessageWriter가 multi-row INSERT로 저장하도록 애플리케이션에서 시간 순 id 할당 (SnowflakeIdGenerator)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
+
+    // 채팅방 안에서 1씩 증가하는 순번 (RoomSequencer), 재연결 시 누락 구간 확인용
+    private Long seq;
+
     private String message;
     private String writer;
 
@@ -4,8 +4,6 @@ import lombok.*;
 import jakarta.persistence.*;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.List;
 
 @Getter
 @Setter
@@ -25,23 +23,6 @@ public class ChatRoom {
     @JoinColumn(name = "user_id")
     private User user;
 
-    @ManyToMany
-    @JoinTable(
-            name = "chatroom_participants",
-            joinColumns = @JoinColumn(name = "chatroom_id"),
-            inverseJoinColumns = @JoinColumn(name = "user_id"))
-    private List<User> participants = new ArrayList<>();
-
     private Boolean isDeleted = false;
-
-    public void addParticipant(User user) {
-        if (!participants.contains(user)) {
-            participants.add(user);
-        }
-    }
-
-    public void removeParticipant(User user) {
-        participants.remove(user);
-    }
 }
 
@@ -0,0 +1,39 @@
+package com.gbsb.tripmate.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
+
+import java.io.Serializable;
+
+// 채팅방 참여자 (기존 chatroom_participants 조인 테이블)
+// 참여/퇴장은 행 하나의 INSERT/DELETE, 참여 여부는 PK(chatroom_id, user_id) 조회로 처리한다.
+// last_read_message_id는 사용자가 읽은 마지막 메시지 id (읽음 커서)
+@Entity
+@Table(name = "chatroom_participants",
+        indexes = @Index(name = "idx_chatroom_participant_user", columnList = "user_id, chatroom_id"))
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChatRoomParticipant {
+
+    @EmbeddedId
+    private Id id;
+
+    @ColumnDefault("0")
+    @Column(name = "last_read_message_id", nullable = false)
+    private long lastReadMessageId;
+
+    @Embeddable
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Id implements Serializable {
+        @Column(name = "chatroom_id")
+        private Long chatroomId;
+
+        @Column(name = "user_id")
+        private Long userId;
+    }
+}
@@ -10,6 +10,8 @@ import lombok.*;
 import java.time.LocalDate;
 
 @Entity
+// 피드 keyset 조회와 createdDate 정렬 목록이 함께 쓰는 인덱스 (삭제 여부는 읽으면서 거른다)
+@Table(indexes = @Index(name = "idx_meeting_created_id", columnList = "created_date, meeting_id"))
 @Getter
 @Setter
 @NoArgsConstructor
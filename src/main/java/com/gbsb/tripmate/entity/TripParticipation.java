@@ -0,0 +1,39 @@
+package com.gbsb.tripmate.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+// 모임별 참여 기간 (기존 daily_participation의 하루 한 행 대신 기간 한 행)
+// 기간 겹침은 (user_id, start_date, end_date) 인덱스 범위 조회 한 번으로 확인한다.
+@Entity
+@Table(name = "trip_participation",
+        uniqueConstraints = @UniqueConstraint(name = "uk_trip_participation_meeting_user", columnNames = {"meeting_id", "user_id"}),
+        indexes = @Index(name = "idx_trip_participation_user_dates", columnList = "user_id, start_date, end_date"))
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TripParticipation {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long tripParticipationId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "meeting_id", nullable = false)
+    private Meeting meeting;
+
+    @Column(name = "start_date", nullable = false)
+    private LocalDate startDate;
+
+    @Column(name = "end_date", nullable = false)
+    private LocalDate endDate;
+}
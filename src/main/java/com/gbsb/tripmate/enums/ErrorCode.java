@@ -32,7 +32,10 @@ public enum ErrorCode {
     JSON_PARSING_ERROR("JSON 파싱 중 오류가 발생했습니다."),
     KAKAO_API_ERROR("카카오 API 사용 중 오류가 발생했습니다."),
     PLAN_ITEM_ID_NOT_FOUND("해당 세부 일정이 없습니다."),
-    NO_MODIFICATION_PERMISSION("해당 항목에 대한 수정 권한이 없습니다.");
+    NO_MODIFICATION_PERMISSION("해당 항목에 대한 수정 권한이 없습니다."),
+    INVALID_REFRESH_TOKEN("리프레시 토큰이 유효하지 않습니다. 다시 로그인해주세요."),
+    SERVER_BUSY("요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해주세요."),
+    TOKEN_VERSION_UNAVAILABLE("인증 정보를 확인할 수 없습니다. 잠시 후 다시 시도해주세요.");
 
     private final String description;
 }
@@ -0,0 +1,12 @@
+package com.gbsb.tripmate.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// 모임 탈퇴/내보내기로 채팅방 권한이 사라졌을 때 발행
+@Getter
+@AllArgsConstructor
+public class ChatMembershipRevokedEvent {
+    private final Long userId;
+    private final Long roomId;
+}
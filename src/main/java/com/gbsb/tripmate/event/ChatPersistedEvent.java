@@ -0,0 +1,14 @@
+package com.gbsb.tripmate.event;
+
+import com.gbsb.tripmate.store.ChatEntry;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+// ChatStore가 메시지를 저장한 뒤 발행 (저장 스레드에서 동기 처리)
+@Getter
+@AllArgsConstructor
+public class ChatPersistedEvent {
+    private final List<ChatEntry> entries;
+}
@@ -3,8 +3,10 @@ package com.gbsb.tripmate.exception;
 import com.gbsb.tripmate.dto.ErrorResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
@@ -44,4 +46,20 @@ public class GlobalExceptionHandler {
     public ErrorResponse handleUnsupportedEncodingException(UnsupportedEncodingException e) {
         return new ErrorResponse(FAIL_ENCODING, FAIL_ENCODING.getDescription());
     }
+
+    // 비밀번호 해싱 큐가 가득 찬 경우 대기하지 않고 바로 503 응답
+    @ExceptionHandler(PasswordHashingRejectedException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ErrorResponse handlePasswordHashingRejectedException(PasswordHashingRejectedException e) {
+        log.warn("Request rejected: {}", e.getMessage());
+        return new ErrorResponse(SERVER_BUSY, SERVER_BUSY.getDescription());
+    }
+
+    // 토큰 폐기/버전 확인에 실패한 경우 요청을 통과시키지 않고 503 응답
+    @ExceptionHandler(TokenVersionUnavailableException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ErrorResponse handleTokenVersionUnavailableException(TokenVersionUnavailableException e) {
+        log.error("Token version unavailable: {}", e.getMessage());
+        return new ErrorResponse(TOKEN_VERSION_UNAVAILABLE, TOKEN_VERSION_UNAVAILABLE.getDescription());
+    }
 }
@@ -0,0 +1,9 @@
+package com.gbsb.tripmate.exception;
+
+// 비밀번호 해싱 풀의 큐가 가득 찼거나 제한 시간 안에 끝나지 않은 경우, 503으로 응답한다
+public class PasswordHashingRejectedException extends RuntimeException {
+
+    public PasswordHashingRejectedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
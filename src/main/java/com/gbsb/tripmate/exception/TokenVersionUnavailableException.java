@@ -0,0 +1,9 @@
+package com.gbsb.tripmate.exception;
+
+// 토큰 버전 저장소(Redis)를 읽거나 쓸 수 없는 경우, 503으로 응답한다
+public class TokenVersionUnavailableException extends RuntimeException {
+
+    public TokenVersionUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,39 @@
+package com.gbsb.tripmate.messaging;
+
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+import org.springframework.web.socket.handler.WebSocketSessionDecorator;
+
+import java.io.IOException;
+
+// 세션을 감싸 실제로 전송한 프레임 수를 SessionBackpressureRegistry에 알린다
+public class BackpressureWebSocketHandler extends WebSocketHandlerDecorator {
+
+    private final SessionBackpressureRegistry registry;
+
+    public BackpressureWebSocketHandler(WebSocketHandler delegate, SessionBackpressureRegistry registry) {
+        super(delegate);
+        this.registry = registry;
+    }
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+        registry.register(session);
+        super.afterConnectionEstablished(new WebSocketSessionDecorator(session) {
+            @Override
+            public void sendMessage(WebSocketMessage<?> message) throws IOException {
+                super.sendMessage(message);
+                registry.onSent(getId());
+            }
+        });
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+        registry.unregister(session.getId());
+        super.afterConnectionClosed(session, closeStatus);
+    }
+}
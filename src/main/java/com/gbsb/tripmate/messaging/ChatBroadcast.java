@@ -0,0 +1,18 @@
+package com.gbsb.tripmate.messaging;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// 노드 간에 전달되는 브로커 메시지 (payload는 이미 변환된 STOMP body)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChatBroadcast {
+    private String origin;
+    private String destination;
+    private String contentType;
+    private byte[] payload;
+}
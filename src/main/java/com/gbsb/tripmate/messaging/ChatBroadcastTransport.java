@@ -0,0 +1,12 @@
+package com.gbsb.tripmate.messaging;
+
+import java.util.function.Consumer;
+
+// 채팅 메시지를 모든 노드에 전달하는 전송 계층
+// 발행한 노드 자신에게 돌아오는 메시지는 ChatBrokerRelay에서 origin으로 걸러낸다.
+public interface ChatBroadcastTransport {
+
+    void publish(ChatBroadcast broadcast);
+
+    void subscribe(Consumer<ChatBroadcast> listener);
+}
@@ -0,0 +1,72 @@
+package com.gbsb.tripmate.messaging;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.util.MimeType;
+
+import java.util.UUID;
+
+// brokerChannel 인터셉터
+// 채팅방 메시지는 로컬 브로커에 전달하면서 transport로도 발행하고,
+// 다른 노드가 발행한 메시지는 brokerChannel에 다시 넣어 현재 노드의 구독자에게 전달한다.
+@Slf4j
+public class ChatBrokerRelay implements ChannelInterceptor {
+
+    static final String RELAYED_HEADER = "chatRelayed";
+    private static final String RELAYED_PREFIX = "/sub/chat/room";
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final ChatBroadcastTransport transport;
+    private final MessageChannel brokerChannel;
+
+    public ChatBrokerRelay(ChatBroadcastTransport transport, MessageChannel brokerChannel) {
+        this.transport = transport;
+        this.brokerChannel = brokerChannel;
+        transport.subscribe(this::deliver);
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        if (message.getHeaders().containsKey(RELAYED_HEADER)
+                || SimpMessageHeaderAccessor.getMessageType(message.getHeaders()) != SimpMessageType.MESSAGE
+                || !(message.getPayload() instanceof byte[] payload)) {
+            return message;
+        }
+
+        String destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+        if (destination == null || !destination.startsWith(RELAYED_PREFIX)) {
+            return message;
+        }
+
+        Object contentType = message.getHeaders().get(MessageHeaders.CONTENT_TYPE);
+        try {
+            transport.publish(new ChatBroadcast(nodeId, destination,
+                    contentType == null ? null : contentType.toString(), payload));
+        } catch (Exception e) {
+            // 발행에 실패해도 현재 노드의 구독자에게는 전달
+            log.error("Failed to publish chat broadcast to {}", destination, e);
+        }
+        return message;
+    }
+
+    void deliver(ChatBroadcast broadcast) {
+        if (nodeId.equals(broadcast.getOrigin())) {
+            return;
+        }
+
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setDestination(broadcast.getDestination());
+        if (broadcast.getContentType() != null) {
+            accessor.setContentType(MimeType.valueOf(broadcast.getContentType()));
+        }
+        accessor.setHeader(RELAYED_HEADER, true);
+
+        brokerChannel.send(MessageBuilder.createMessage(broadcast.getPayload(), accessor.getMessageHeaders()));
+    }
+}
@@ -0,0 +1,110 @@
+package com.gbsb.tripmate.messaging;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gbsb.tripmate.dto.ChatMessageDTO;
+import com.gbsb.tripmate.dto.CompactChatMessage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.server.HandshakeInterceptor;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// /ws 로 연결한 세션에는 채팅 메시지를 CompactChatMessage 형식으로 보낸다
+// inbound: CONNECT/DISCONNECT로 대상 세션 관리, outbound: 채팅방 MESSAGE 프레임 payload 변환
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CompactEnvelopeInterceptor implements ChannelInterceptor {
+
+    // 핸드셰이크 시 세션 속성에 표시 (handshakeInterceptor())
+    public static final String COMPACT_ATTRIBUTE = "chat.compactEnvelope";
+    private static final String CHAT_ROOM_DESTINATION_PREFIX = "/sub/chat/room";
+
+    private final ObjectMapper objectMapper;
+    private final Set<String> compactSessions = ConcurrentHashMap.newKeySet();
+
+    // 브로커는 같은 payload 배열을 구독자 수만큼 보내므로 스레드별로 직전 변환 결과를 재사용
+    private final ThreadLocal<Object[]> lastConversion = new ThreadLocal<>();
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        SimpMessageType type = SimpMessageHeaderAccessor.getMessageType(message.getHeaders());
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+        if (type == null || sessionId == null) {
+            return message;
+        }
+
+        switch (type) {
+            case CONNECT -> {
+                Map<String, Object> attributes = SimpMessageHeaderAccessor.getSessionAttributes(message.getHeaders());
+                if (attributes != null && Boolean.TRUE.equals(attributes.get(COMPACT_ATTRIBUTE))) {
+                    compactSessions.add(sessionId);
+                }
+            }
+            case DISCONNECT -> compactSessions.remove(sessionId);
+            case MESSAGE -> {
+                return compactSessions.contains(sessionId) ? toCompact(message) : message;
+            }
+            default -> {
+            }
+        }
+        return message;
+    }
+
+    private Message<?> toCompact(Message<?> message) {
+        String destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+        if (destination == null || !destination.startsWith(CHAT_ROOM_DESTINATION_PREFIX)
+                || !(message.getPayload() instanceof byte[] payload)) {
+            return message;
+        }
+
+        Object[] cached = lastConversion.get();
+        byte[] compact;
+        if (cached != null && cached[0] == payload) {
+            compact = (byte[]) cached[1];
+        } else {
+            try {
+                ChatMessageDTO dto = objectMapper.readValue(payload, ChatMessageDTO.class);
+                compact = objectMapper.writeValueAsBytes(CompactChatMessage.from(dto));
+            } catch (Exception e) {
+                log.warn("Failed to convert chat message to compact envelope: {}", e.getMessage());
+                return message;
+            }
+            lastConversion.set(new Object[]{payload, compact});
+        }
+        return MessageBuilder.createMessage(compact, message.getHeaders());
+    }
+
+    // /ws 엔드포인트 핸드셰이크에서 축약 형식 세션으로 표시
+    public static HandshakeInterceptor handshakeInterceptor() {
+        return new HandshakeInterceptor() {
+            @Override
+            public boolean beforeHandshake(ServerHttpRequest request,
+                                           ServerHttpResponse response,
+                                           WebSocketHandler wsHandler,
+                                           Map<String, Object> attributes) {
+                attributes.put(COMPACT_ATTRIBUTE, true);
+                return true;
+            }
+
+            @Override
+            public void afterHandshake(ServerHttpRequest request,
+                                       ServerHttpResponse response,
+                                       WebSocketHandler wsHandler,
+                                       Exception exception) {
+            }
+        };
+    }
+}
@@ -0,0 +1,32 @@
+package com.gbsb.tripmate.messaging;
+
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.web.socket.WebSocketExtension;
+import org.springframework.web.socket.server.support.DefaultHandshakeHandler;
+
+import java.util.List;
+
+// 네이티브 웹소켓 엔드포인트 핸드셰이크
+// 클라이언트가 요청한 확장 중 서버(Tomcat)가 지원하는 permessage-deflate만 협상한다.
+public class DeflateHandshakeHandler extends DefaultHandshakeHandler {
+
+    private static final String PERMESSAGE_DEFLATE = "permessage-deflate";
+
+    private final boolean compressionEnabled;
+
+    public DeflateHandshakeHandler(boolean compressionEnabled) {
+        this.compressionEnabled = compressionEnabled;
+    }
+
+    @Override
+    protected List<WebSocketExtension> filterRequestedExtensions(ServerHttpRequest request,
+                                                                 List<WebSocketExtension> requestedExtensions,
+                                                                 List<WebSocketExtension> supportedExtensions) {
+        if (!compressionEnabled) {
+            return List.of();
+        }
+        return super.filterRequestedExtensions(request, requestedExtensions, supportedExtensions).stream()
+                .filter(extension -> PERMESSAGE_DEFLATE.equalsIgnoreCase(extension.getName()))
+                .toList();
+    }
+}
@@ -0,0 +1,47 @@
+package com.gbsb.tripmate.messaging;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.function.Consumer;
+
+// Redis pub/sub 기반 전송
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "chat.broker.mode", havingValue = "redis")
+public class RedisChatBroadcastTransport implements ChatBroadcastTransport {
+
+    private static final String CHANNEL = "chat:broadcast";
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public void publish(ChatBroadcast broadcast) {
+        try {
+            redisTemplate.convertAndSend(CHANNEL, objectMapper.writeValueAsString(broadcast));
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to serialize chat broadcast", e);
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<ChatBroadcast> listener) {
+        listenerContainer.addMessageListener((message, pattern) -> {
+            try {
+                listener.accept(objectMapper.readValue(message.getBody(), ChatBroadcast.class));
+            } catch (IOException e) {
+                log.warn("Dropped malformed chat broadcast: {}", e.getMessage());
+            }
+        }, new ChannelTopic(CHANNEL));
+    }
+}
@@ -0,0 +1,111 @@
+package com.gbsb.tripmate.messaging;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+
+// 채팅방 id로 고른 단일 스레드 lane에서 채팅 메시지를 처리
+// 같은 채팅방의 메시지는 항상 같은 lane에서 도착 순서대로 순번 부여/저장 큐 적재/브로드캐스트되고,
+// 다른 채팅방끼리는 lane 수만큼 병렬로 처리된다.
+@Slf4j
+@Component
+public class RoomLaneExecutor implements SmartLifecycle {
+
+    private final ThreadPoolExecutor[] lanes;
+    private final Counter rejected;
+    private final Counter failed;
+
+    private volatile boolean running;
+
+    public RoomLaneExecutor(MeterRegistry meterRegistry,
+                            @Value("${chat.lanes.count:8}") int laneCount,
+                            @Value("${chat.lanes.queue-capacity:10000}") int queueCapacity) {
+        this.lanes = new ThreadPoolExecutor[laneCount];
+        for (int i = 0; i < laneCount; i++) {
+            String name = "chat-lane-" + i;
+            lanes[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(queueCapacity),
+                    runnable -> new Thread(runnable, name),
+                    new ThreadPoolExecutor.AbortPolicy());
+
+            BlockingQueue<Runnable> queue = lanes[i].getQueue();
+            Gauge.builder("chat.lane.queue.depth", queue, BlockingQueue::size)
+                    .tag("lane", String.valueOf(i))
+                    .register(meterRegistry);
+        }
+
+        this.rejected = Counter.builder("chat.lane.rejected").register(meterRegistry);
+        this.failed = Counter.builder("chat.lane.failed").register(meterRegistry);
+    }
+
+    // lane 큐가 가득 차 있으면 RejectedExecutionException
+    // task가 lane에서 실패하면 onFailure로 알린다 (보낸 사람에게 오류 전달용)
+    public void execute(Long roomId, Runnable task, Consumer<Exception> onFailure) {
+        try {
+            lanes[laneOf(roomId)].execute(() -> {
+                try {
+                    task.run();
+                } catch (Exception e) {
+                    failed.increment();
+                    log.warn("Failed to process chat message of room {}: {}", roomId, e.getMessage());
+                    try {
+                        onFailure.accept(e);
+                    } catch (Exception callbackError) {
+                        log.warn("Failed to report chat message failure of room {}: {}", roomId, callbackError.getMessage());
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw e;
+        }
+    }
+
+    public int laneOf(Long roomId) {
+        // 연속된 채팅방 id가 lane에 고르게 퍼지도록 섞는다
+        long mixed = roomId * 0x9E3779B97F4A7C15L;
+        return Math.floorMod((int) (mixed ^ (mixed >>> 32)), lanes.length);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    // 웹 서버 종료 후, ChatStore 종료 전에 lane에 남은 메시지를 처리
+    @Override
+    public void stop() {
+        running = false;
+        for (ThreadPoolExecutor lane : lanes) {
+            lane.shutdown();
+        }
+        for (ThreadPoolExecutor lane : lanes) {
+            try {
+                if (!lane.awaitTermination(10, TimeUnit.SECONDS)) {
+                    log.warn("{} chat messages left in lane on shutdown", lane.getQueue().size());
+                    lane.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                lane.shutdownNow();
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 3072;
+    }
+}
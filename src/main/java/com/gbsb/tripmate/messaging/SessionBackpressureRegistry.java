@@ -0,0 +1,143 @@
+package com.gbsb.tripmate.messaging;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.io.IOException;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+// 세션별 전송 대기 프레임 수 관리 (clientOutboundChannel 인터셉터)
+// 대기 수 = outbound 채널에 들어온 프레임 - 실제로 소켓에 쓴 프레임
+// 한도를 넘으면 SlowConsumerPolicy에 따라 채팅 메시지를 버리거나 세션을 끊는다.
+@Slf4j
+@Component
+public class SessionBackpressureRegistry implements ChannelInterceptor {
+
+    private final Map<String, SessionState> sessions = new ConcurrentHashMap<>();
+    private final int maxPending;
+    private final SlowConsumerPolicy policy;
+    private final Counter dropped;
+    private final Counter disconnected;
+
+    public SessionBackpressureRegistry(MeterRegistry meterRegistry,
+                                       @Value("${websocket.backpressure.max-pending:1000}") int maxPending,
+                                       @Value("${websocket.backpressure.policy:DROP}") SlowConsumerPolicy policy) {
+        this.maxPending = maxPending;
+        this.policy = policy;
+        this.dropped = Counter.builder("websocket.frames.dropped").register(meterRegistry);
+        this.disconnected = Counter.builder("websocket.sessions.disconnected.slow").register(meterRegistry);
+
+        Gauge.builder("websocket.sessions", sessions, Map::size).register(meterRegistry);
+        Gauge.builder("websocket.session.pending.total", this, registry -> registry.pendingStream().sum())
+                .register(meterRegistry);
+        Gauge.builder("websocket.session.pending.max", this, registry -> registry.pendingStream().max().orElse(0))
+                .register(meterRegistry);
+    }
+
+    public void register(WebSocketSession session) {
+        sessions.put(session.getId(), new SessionState(session));
+    }
+
+    public void unregister(String sessionId) {
+        sessions.remove(sessionId);
+    }
+
+    // 소켓에 프레임을 쓴 뒤 호출
+    public void onSent(String sessionId) {
+        SessionState state = sessions.get(sessionId);
+        if (state != null) {
+            state.pending.updateAndGet(pending -> Math.max(0, pending - 1));
+        }
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+        SessionState state = sessionId == null ? null : sessions.get(sessionId);
+        if (state == null) {
+            return message;
+        }
+
+        // 연결/하트비트 등 제어 프레임은 항상 전달하고, 채팅 메시지만 제한
+        if (SimpMessageHeaderAccessor.getMessageType(message.getHeaders()) == SimpMessageType.MESSAGE
+                && state.pending.get() >= maxPending) {
+            state.dropped.incrementAndGet();
+            dropped.increment();
+            if (policy == SlowConsumerPolicy.DISCONNECT) {
+                disconnect(state);
+            }
+            return null;
+        }
+
+        state.pending.incrementAndGet();
+        return message;
+    }
+
+    // 대기 프레임이 많은 순으로 세션 상태 조회
+    public List<SessionStats> topSessions(int limit) {
+        return sessions.values().stream()
+                .map(state -> new SessionStats(state.session.getId(),
+                        state.session.getPrincipal() == null ? null : state.session.getPrincipal().getName(),
+                        state.pending.get(), state.dropped.get()))
+                .sorted(Comparator.comparingInt(SessionStats::getPending).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    private IntStream pendingStream() {
+        return sessions.values().stream().mapToInt(state -> state.pending.get());
+    }
+
+    private void disconnect(SessionState state) {
+        if (!state.disconnecting.compareAndSet(false, true)) {
+            return;
+        }
+        disconnected.increment();
+        log.warn("Closing slow websocket session {} ({} frames pending)", state.session.getId(), state.pending.get());
+        try {
+            state.session.close(CloseStatus.SESSION_NOT_RELIABLE);
+        } catch (IOException e) {
+            log.warn("Failed to close slow websocket session {}: {}", state.session.getId(), e.getMessage());
+        }
+    }
+
+    private static class SessionState {
+        private final WebSocketSession session;
+        private final AtomicInteger pending = new AtomicInteger();
+        private final AtomicLong dropped = new AtomicLong();
+        private final AtomicBoolean disconnecting = new AtomicBoolean();
+
+        SessionState(WebSocketSession session) {
+            this.session = session;
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class SessionStats {
+        private final String sessionId;
+        private final String user;
+        private final int pending;
+        private final long dropped;
+    }
+}
@@ -0,0 +1,9 @@
+package com.gbsb.tripmate.messaging;
+
+// 전송 대기 프레임이 한도를 넘은 세션 처리 방식
+public enum SlowConsumerPolicy {
+    // 새 채팅 메시지 프레임을 버린다 (연결 유지)
+    DROP,
+    // 세션을 끊는다 (클라이언트가 재연결 후 최근 메시지를 다시 조회)
+    DISCONNECT
+}
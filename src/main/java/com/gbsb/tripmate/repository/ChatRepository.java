@@ -1,9 +1,39 @@
 package com.gbsb.tripmate.repository;
 
+import com.gbsb.tripmate.dto.ChatMessageResponse;
 import com.gbsb.tripmate.entity.Chat;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface ChatRepository extends JpaRepository<Chat, Long> {
+
+    // (chatroom_id, id) 인덱스를 타는 keyset 조회, offset 없이 before 보다 작은 id부터 읽는다
+    @Query("SELECT new com.gbsb.tripmate.dto.ChatMessageResponse(c.id, c.chatRoom.roomId, c.seq, c.writer, c.message, c.createdAt) " +
+            "FROM Chat c WHERE c.chatRoom.roomId = :roomId AND c.id < :before ORDER BY c.id DESC")
+    List<ChatMessageResponse> findHistory(@Param("roomId") Long roomId, @Param("before") Long before, Pageable pageable);
+
+    @Query("SELECT new com.gbsb.tripmate.dto.ChatMessageResponse(c.id, c.chatRoom.roomId, c.seq, c.writer, c.message, c.createdAt) " +
+            "FROM Chat c WHERE c.chatRoom.roomId = :roomId AND c.id IN :ids")
+    List<ChatMessageResponse> findByIds(@Param("roomId") Long roomId, @Param("ids") Collection<Long> ids);
+
+    // (chatroom_id, seq) 인덱스로 afterSeq 이후 메시지를 순번 순으로 조회
+    @Query("SELECT new com.gbsb.tripmate.dto.ChatMessageResponse(c.id, c.chatRoom.roomId, c.seq, c.writer, c.message, c.createdAt) " +
+            "FROM Chat c WHERE c.chatRoom.roomId = :roomId AND c.seq > :afterSeq ORDER BY c.seq")
+    List<ChatMessageResponse> findSince(@Param("roomId") Long roomId, @Param("afterSeq") Long afterSeq, Pageable pageable);
+
+    @Query("SELECT COALESCE(MAX(c.seq), 0) FROM Chat c WHERE c.chatRoom.roomId = :roomId")
+    long findMaxSeq(@Param("roomId") Long roomId);
+
+    @Query("SELECT COALESCE(MAX(c.id), 0) FROM Chat c WHERE c.chatRoom.roomId = :roomId")
+    long findLatestId(@Param("roomId") Long roomId);
+
+    @Query("SELECT COUNT(c) FROM Chat c WHERE c.chatRoom.roomId = :roomId AND c.id > :after")
+    long countAfter(@Param("roomId") Long roomId, @Param("after") Long after);
 }
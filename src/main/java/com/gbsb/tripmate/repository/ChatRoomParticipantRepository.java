@@ -0,0 +1,74 @@
+package com.gbsb.tripmate.repository;
+
+import com.gbsb.tripmate.entity.ChatRoomParticipant;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ChatRoomParticipantRepository extends JpaRepository<ChatRoomParticipant, ChatRoomParticipant.Id> {
+
+    // 이미 참여 중이면 무시, 읽음 커서는 참여 시점의 마지막 메시지(ChatStore.latestId)로 시작
+    // DB 전용 구문(INSERT IGNORE 등) 대신 NOT EXISTS 조건의 INSERT ... SELECT 사용
+    @Modifying
+    @Query(value = "INSERT INTO chatroom_participants (chatroom_id, user_id, last_read_message_id) " +
+            "SELECT :roomId, :userId, :lastReadMessageId FROM (SELECT 1) AS one " +
+            "WHERE NOT EXISTS (SELECT 1 FROM chatroom_participants WHERE chatroom_id = :roomId AND user_id = :userId)",
+            nativeQuery = true)
+    int insertParticipant(@Param("roomId") Long roomId, @Param("userId") Long userId,
+                          @Param("lastReadMessageId") Long lastReadMessageId);
+
+    @Modifying
+    @Query("DELETE FROM ChatRoomParticipant p WHERE p.id.chatroomId = :roomId AND p.id.userId = :userId")
+    int deleteParticipant(@Param("roomId") Long roomId, @Param("userId") Long userId);
+
+    @Query("SELECT p.id.userId FROM ChatRoomParticipant p WHERE p.id.chatroomId = :roomId")
+    List<Long> findUserIds(@Param("roomId") Long roomId);
+
+    // 커서는 앞으로만 이동
+    @Modifying
+    @Query("UPDATE ChatRoomParticipant p SET p.lastReadMessageId = :messageId " +
+            "WHERE p.id.chatroomId = :roomId AND p.id.userId = :userId AND p.lastReadMessageId < :messageId")
+    int advanceReadCursor(@Param("roomId") Long roomId, @Param("userId") Long userId, @Param("messageId") long messageId);
+
+    @Query("SELECT p.lastReadMessageId FROM ChatRoomParticipant p WHERE p.id.chatroomId = :roomId AND p.id.userId = :userId")
+    Long findReadCursor(@Param("roomId") Long roomId, @Param("userId") Long userId);
+
+    // 사용자별 채팅방의 안 읽은 메시지 수
+    // (user_id, chatroom_id) 인덱스로 참여 채팅방을 찾고, 채팅방마다 (chatroom_id, id) 인덱스 범위만 센다
+    @Query("SELECT p.id.userId AS userId, p.id.chatroomId AS roomId, COUNT(c.id) AS unreadCount " +
+            "FROM ChatRoomParticipant p LEFT JOIN Chat c ON c.chatRoom.roomId = p.id.chatroomId AND c.id > p.lastReadMessageId " +
+            "WHERE p.id.userId IN :userIds GROUP BY p.id.userId, p.id.chatroomId")
+    List<UnreadCountView> findUnreadCounts(@Param("userIds") Collection<Long> userIds);
+
+    // ChatStore가 DB 밖에 있을 때 안 읽은 수 계산용 읽음 커서
+    @Query("SELECT p.id.userId AS userId, p.id.chatroomId AS roomId, p.lastReadMessageId AS lastReadMessageId " +
+            "FROM ChatRoomParticipant p WHERE p.id.userId IN :userIds")
+    List<ReadCursorView> findReadCursors(@Param("userIds") Collection<Long> userIds);
+
+    // 정합성 보정 대상 사용자를 user_id 순으로 나눠 조회
+    @Query("SELECT DISTINCT p.id.userId FROM ChatRoomParticipant p WHERE p.id.userId > :after ORDER BY p.id.userId")
+    List<Long> findUserIdsAfter(@Param("after") Long after, Pageable pageable);
+
+    interface UnreadCountView {
+        Long getUserId();
+
+        Long getRoomId();
+
+        Long getUnreadCount();
+    }
+
+    interface ReadCursorView {
+        Long getUserId();
+
+        Long getRoomId();
+
+        Long getLastReadMessageId();
+    }
+}
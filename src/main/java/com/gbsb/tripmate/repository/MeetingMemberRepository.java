@@ -3,9 +3,9 @@ package com.gbsb.tripmate.repository;
 import com.gbsb.tripmate.entity.Meeting;
 import com.gbsb.tripmate.entity.MeetingMember;
 import com.gbsb.tripmate.entity.User;
-import io.lettuce.core.dynamic.annotation.Param;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -19,4 +19,10 @@ public interface MeetingMemberRepository extends JpaRepository<MeetingMember, Lo
     Optional<MeetingMember> findByMeetingAndUser(Meeting meeting, User user);
     Optional<MeetingMember> findByMeetingAndUserId(Meeting meeting, Long userId);
     boolean existsByMeetingAndUser(Meeting meeting, User user);
+
+    // 탈퇴/내보내기 되지 않은 멤버인지 확인
+    @Query("SELECT CASE WHEN COUNT(mm) > 0 THEN true ELSE false END FROM MeetingMember mm " +
+            "WHERE mm.meeting.meetingId = :meetingId AND mm.user.id = :userId " +
+            "AND (mm.isRemoved IS NULL OR mm.isRemoved = false)")
+    boolean existsActiveMember(@Param("meetingId") Long meetingId, @Param("userId") Long userId);
 }
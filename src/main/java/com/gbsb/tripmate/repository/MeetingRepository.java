@@ -1,5 +1,6 @@
 package com.gbsb.tripmate.repository;
 
+import com.gbsb.tripmate.dto.MeetingResponse;
 import com.gbsb.tripmate.entity.Meeting;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -8,6 +9,9 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.List;
+
 @Repository
 public interface MeetingRepository extends JpaRepository<Meeting, Long> {
 
@@ -16,6 +20,33 @@ public interface MeetingRepository extends JpaRepository<Meeting, Long> {
     Page<Meeting> findMeetingsByUserId(@Param("Id") Long Id, Pageable pageable);
     Page<Meeting> findAll(Pageable pageable);
 
-    @Query("SELECT m FROM Meeting m WHERE (m.meetingLeader.id = :Id OR m IN (SELECT mm.meeting FROM MeetingMember mm WHERE mm.user.id = :Id)) AND m.meetingTitle LIKE %:meetingTitle%")
-    Page<Meeting> searchMeetingsByUserIdAndTitle(@Param("Id") Long userId, @Param("meetingTitle") String meetingTitle, Pageable pageable);
+    // 모임 목록: MeetingResponse에 필요한 컬럼만 모임장과 조인해 조회 (엔티티/채팅방 로딩 없음), 삭제된 모임 제외
+    @Query(value = "SELECT new com.gbsb.tripmate.dto.MeetingResponse(m.meetingId, m.meetingTitle, m.meetingDescription, m.destination, " +
+            "l.nickname, m.travelStartDate, m.travelEndDate, m.createdDate) " +
+            "FROM Meeting m JOIN m.meetingLeader l WHERE (m.isDeleted IS NULL OR m.isDeleted = false)",
+            countQuery = "SELECT COUNT(m) FROM Meeting m WHERE (m.isDeleted IS NULL OR m.isDeleted = false)")
+    Page<MeetingResponse> findMeetingList(Pageable pageable);
+
+    // 모임 피드 첫 페이지: (created_date, meeting_id) 인덱스를 최신순으로 읽는다
+    @Query("SELECT new com.gbsb.tripmate.dto.MeetingResponse(m.meetingId, m.meetingTitle, m.meetingDescription, m.destination, " +
+            "l.nickname, m.travelStartDate, m.travelEndDate, m.createdDate) " +
+            "FROM Meeting m JOIN m.meetingLeader l WHERE (m.isDeleted IS NULL OR m.isDeleted = false) " +
+            "ORDER BY m.createdDate DESC, m.meetingId DESC")
+    List<MeetingResponse> findFeed(Pageable pageable);
+
+    // 모임 피드 다음 페이지: 커서 (createdDate, meetingId) 보다 이전 위치로 seek, OFFSET/COUNT 없음
+    @Query("SELECT new com.gbsb.tripmate.dto.MeetingResponse(m.meetingId, m.meetingTitle, m.meetingDescription, m.destination, " +
+            "l.nickname, m.travelStartDate, m.travelEndDate, m.createdDate) " +
+            "FROM Meeting m JOIN m.meetingLeader l WHERE (m.isDeleted IS NULL OR m.isDeleted = false) " +
+            "AND (m.createdDate < :createdDate OR (m.createdDate = :createdDate AND m.meetingId < :meetingId)) " +
+            "ORDER BY m.createdDate DESC, m.meetingId DESC")
+    List<MeetingResponse> findFeedAfter(@Param("createdDate") LocalDate createdDate, @Param("meetingId") Long meetingId, Pageable pageable);
+
+    @Query(value = "SELECT new com.gbsb.tripmate.dto.MeetingResponse(m.meetingId, m.meetingTitle, m.meetingDescription, m.destination, " +
+            "l.nickname, m.travelStartDate, m.travelEndDate, m.createdDate) " +
+            "FROM Meeting m JOIN m.meetingLeader l " +
+            "WHERE (l.id = :Id OR m IN (SELECT mm.meeting FROM MeetingMember mm WHERE mm.user.id = :Id)) AND m.meetingTitle LIKE %:meetingTitle%",
+            countQuery = "SELECT COUNT(m) FROM Meeting m " +
+                    "WHERE (m.meetingLeader.id = :Id OR m IN (SELECT mm.meeting FROM MeetingMember mm WHERE mm.user.id = :Id)) AND m.meetingTitle LIKE %:meetingTitle%")
+    Page<MeetingResponse> searchMeetingsByUserIdAndTitle(@Param("Id") Long userId, @Param("meetingTitle") String meetingTitle, Pageable pageable);
 }
\ No newline at end of file
@@ -0,0 +1,26 @@
+package com.gbsb.tripmate.repository;
+
+import com.gbsb.tripmate.entity.TripParticipation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+
+@Repository
+public interface TripParticipationRepository extends JpaRepository<TripParticipation, Long> {
+
+    // [startDate, endDate]와 하루라도 겹치는 참여 기간이 있는지 (양 끝 포함)
+    // user_id 동등 + start_date 범위로 인덱스를 타고, end_date는 같은 인덱스에서 거른다
+    @Query("SELECT CASE WHEN COUNT(tp) > 0 THEN true ELSE false END FROM TripParticipation tp " +
+            "WHERE tp.user.id = :userId AND tp.startDate <= :endDate AND tp.endDate >= :startDate")
+    boolean existsOverlapping(@Param("userId") Long userId,
+                              @Param("startDate") LocalDate startDate,
+                              @Param("endDate") LocalDate endDate);
+
+    @Modifying
+    @Query("DELETE FROM TripParticipation tp WHERE tp.meeting.meetingId = :meetingId AND tp.user.id = :userId")
+    int deleteByMeetingAndUser(@Param("meetingId") Long meetingId, @Param("userId") Long userId);
+}
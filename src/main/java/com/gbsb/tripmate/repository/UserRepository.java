@@ -1,14 +1,33 @@
 package com.gbsb.tripmate.repository;
 
 import com.gbsb.tripmate.entity.User;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String userEmail);
     boolean existsByEmail(String userEmail);
     boolean existsByNickname(String nickname);
+
+    // 같은 사용자의 동시 요청을 트랜잭션 끝까지 직렬화하기 위한 행 잠금 (SELECT ... FOR UPDATE)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT u FROM User u WHERE u.email = :email")
+    Optional<User> findByEmailForUpdate(@Param("email") String email);
+
+    // MySQL 드라이버가 결과를 한 번에 메모리에 올리지 않도록 row 단위 스트리밍
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query("SELECT u.email, u.nickname FROM User u")
+    Stream<Object[]> streamEmailsAndNicknames();
 }
@@ -0,0 +1,405 @@
+package com.gbsb.tripmate.search;
+
+import com.gbsb.tripmate.dto.ChatMessageResponse;
+import com.gbsb.tripmate.event.ChatPersistedEvent;
+import com.gbsb.tripmate.store.ChatEntry;
+import com.gbsb.tripmate.store.ChatStore;
+import com.gbsb.tripmate.util.NgramTokenizer;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.*;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+// 채팅방별 메시지 검색 역색인 (프로세스 메모리 + 로컬 파일)
+// ChatPersistedEvent로 저장이 끝난 메시지를 받아 색인 스레드에서 모아 반영하고,
+// 채팅방마다 스냅샷(room-{id}.snap)과 그 이후 추가분 로그(room-{id}.log)를 남긴다.
+// 메모리에는 최근 사용한 채팅방만 두고, 처음 쓰는 채팅방은 파일을 읽은 뒤 ChatStore에서 빠진 seq를 따라잡는다.
+// 따라서 색인 파일이 없거나 유실돼도 ChatStore 기준으로 다시 만들어진다.
+// seq는 빠짐없이 이어서 색인하며, 앞선 seq가 아직 저장되지 않았으면 gap-timeout-ms 동안 기다렸다가 건너뛴다.
+@Slf4j
+@Component
+public class ChatSearchIndex {
+
+    private static final String SNAPSHOT_SUFFIX = ".snap";
+    private static final String LOG_SUFFIX = ".log";
+    private static final int CATCH_UP_BATCH = 1000;
+    private static final int SNIPPET_BEFORE = 20;
+    private static final int SNIPPET_AFTER = 60;
+
+    private final ChatStore chatStore;
+    private final Path directory;
+    private final long flushIntervalMillis;
+    private final int snapshotEvery;
+    private final int maxCandidates;
+    private final int scanLimit;
+    private final long gapTimeoutMillis;
+    private final int loadCatchUpLimit;
+
+    private final LinkedBlockingQueue<ChatEntry> pending;
+    private final LoadingCache<Long, RoomSearchIndex> rooms;
+    // 채팅방 파일 접근 잠금 (캐시에서 밀려난 인스턴스와 새로 읽는 인스턴스가 같은 파일을 동시에 만지지 않도록)
+    private final Object[] fileLocks = new Object[64];
+    // 채팅방별로 처음 seq 공백을 본 시점 [공백 직전 seq, 시각]
+    private final Map<Long, long[]> gaps = new ConcurrentHashMap<>();
+
+    private final Counter dropped;
+    private final Counter caughtUp;
+    private final Timer searchTimer;
+
+    private ScheduledExecutorService scheduler;
+
+    public ChatSearchIndex(ChatStore chatStore,
+                           MeterRegistry meterRegistry,
+                           @Value("${chat.search.dir:data/chat-search}") String directory,
+                           @Value("${chat.search.max-rooms:1000}") long maxRooms,
+                           @Value("${chat.search.flush-interval-ms:200}") long flushIntervalMillis,
+                           @Value("${chat.search.snapshot-every:5000}") int snapshotEvery,
+                           @Value("${chat.search.max-candidates:1000}") int maxCandidates,
+                           @Value("${chat.search.scan-limit:50000}") int scanLimit,
+                           @Value("${chat.search.queue-capacity:100000}") int queueCapacity,
+                           @Value("${chat.search.gap-timeout-ms:30000}") long gapTimeoutMillis,
+                           @Value("${chat.search.load-catch-up-limit:5000}") int loadCatchUpLimit) {
+        this.chatStore = chatStore;
+        this.directory = Paths.get(directory);
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.snapshotEvery = snapshotEvery;
+        this.maxCandidates = maxCandidates;
+        this.scanLimit = scanLimit;
+        this.gapTimeoutMillis = gapTimeoutMillis;
+        this.loadCatchUpLimit = loadCatchUpLimit;
+        this.pending = new LinkedBlockingQueue<>(queueCapacity);
+        this.rooms = Caffeine.newBuilder()
+                .maximumSize(maxRooms)
+                .build(this::load);
+        for (int i = 0; i < fileLocks.length; i++) {
+            fileLocks[i] = new Object();
+        }
+
+        this.dropped = Counter.builder("chat.search.dropped").register(meterRegistry);
+        this.caughtUp = Counter.builder("chat.search.catch-up").register(meterRegistry);
+        this.searchTimer = Timer.builder("chat.search").register(meterRegistry);
+        Gauge.builder("chat.search.rooms", rooms, cache -> cache.estimatedSize()).register(meterRegistry);
+        Gauge.builder("chat.search.pending", pending, Collection::size).register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void open() throws IOException {
+        Files.createDirectories(directory);
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "chat-search-index");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::drain, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void close() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+        }
+        drain();
+    }
+
+    // 저장 스레드를 막지 않도록 큐에만 넣는다
+    // 큐가 가득 차 버린 메시지는 해당 채팅방의 다음 메시지가 색인될 때 seq 공백으로 감지해 ChatStore에서 채운다
+    @EventListener
+    public void onPersisted(ChatPersistedEvent event) {
+        for (ChatEntry entry : event.getEntries()) {
+            if (entry.getSeq() != null && !pending.offer(entry)) {
+                dropped.increment();
+            }
+        }
+    }
+
+    // 점수 내림차순(같으면 최신순)으로 message id를 limit 개
+    public List<Hit> search(Long roomId, String query, int limit) {
+        List<List<String>> words = NgramTokenizer.tokenizeQuery(query);
+        if (words.isEmpty()) {
+            return List.of();
+        }
+        return searchTimer.record(() -> {
+            RoomSearchIndex room = rooms.get(roomId);
+            synchronized (room) {
+                return room.search(words, limit, maxCandidates, scanLimit);
+            }
+        });
+    }
+
+    // 대기 중인 메시지를 채팅방별로 색인 (색인 스레드, 종료 시 호출)
+    public synchronized void drain() {
+        List<ChatEntry> batch = new ArrayList<>();
+        pending.drainTo(batch);
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        Map<Long, List<ChatEntry>> byRoom = new LinkedHashMap<>();
+        for (ChatEntry entry : batch) {
+            byRoom.computeIfAbsent(entry.getRoomId(), roomId -> new ArrayList<>()).add(entry);
+        }
+        byRoom.forEach((roomId, entries) -> {
+            entries.sort(Comparator.comparing(ChatEntry::getSeq));
+            try {
+                index(roomId, entries);
+            } catch (Exception e) {
+                // 메모리 상태를 버리고 다음 사용 때 파일 + ChatStore로 다시 만든다
+                log.warn("Failed to index chat messages of room {}: {}", roomId, e.getMessage());
+                rooms.invalidate(roomId);
+            }
+        });
+    }
+
+    // 검색어가 처음 나오는 위치 주변을 잘라 스니펫을 만든다 (못 찾으면 앞부분)
+    public static String snippet(String text, String query) {
+        if (text == null) {
+            return "";
+        }
+        int at = -1;
+        int matchLength = 0;
+        String[] words = query == null ? new String[0] : query.trim().split("\\s+");
+        for (int i = 0; i < text.length() && at < 0; i++) {
+            for (String word : words) {
+                if (!word.isEmpty() && text.regionMatches(true, i, word, 0, word.length())) {
+                    at = i;
+                    matchLength = word.length();
+                    break;
+                }
+            }
+        }
+
+        int start = at < 0 ? 0 : Math.max(0, at - SNIPPET_BEFORE);
+        int end = Math.min(text.length(), Math.max(at, 0) + matchLength + SNIPPET_AFTER);
+        if (start > 0 && Character.isLowSurrogate(text.charAt(start))) {
+            start--;
+        }
+        if (end < text.length() && Character.isLowSurrogate(text.charAt(end))) {
+            end++;
+        }
+        return (start > 0 ? "…" : "") + text.substring(start, end) + (end < text.length() ? "…" : "");
+    }
+
+    // 캐시 로딩이 파일 잠금을 잡으므로 파일 잠금 안에서는 캐시를 읽기만 한다
+    // 잠금을 잡기 전에 캐시에서 밀려나거나 다시 읽혔으면 현재 인스턴스로 다시 시도
+    private void index(Long roomId, List<ChatEntry> entries) throws IOException {
+        while (!index(roomId, rooms.get(roomId), entries)) {
+            log.debug("Search index of room {} was reloaded, retrying", roomId);
+        }
+    }
+
+    private boolean index(Long roomId, RoomSearchIndex room, List<ChatEntry> entries) throws IOException {
+        synchronized (fileLock(roomId)) {
+            if (rooms.getIfPresent(roomId) != room) {
+                return false;
+            }
+            ByteArrayOutputStream records = new ByteArrayOutputStream();
+            List<ChatEntry> waiting = new ArrayList<>();
+            synchronized (room) {
+                for (ChatEntry entry : entries) {
+                    if (entry.getSeq() > room.lastSeq() + 1) {
+                        catchUp(roomId, room, records, Integer.MAX_VALUE);
+                    }
+                    if (entry.getSeq() == room.lastSeq() + 1) {
+                        add(room, entry.getId(), entry.getSeq(), entry.getMessage(), records);
+                    } else if (entry.getSeq() > room.lastSeq()) {
+                        waiting.add(entry);
+                    }
+                }
+            }
+            appendLog(roomId, records.toByteArray());
+            // 앞선 seq가 아직 ChatStore에 없으면 다음 drain 때 다시 시도
+            for (ChatEntry entry : waiting) {
+                if (!pending.offer(entry)) {
+                    dropped.increment();
+                }
+            }
+            if (room.unsnapshotted() >= snapshotEvery) {
+                writeSnapshot(roomId, room);
+            }
+            return true;
+        }
+    }
+
+    // 스냅샷 + 로그를 읽고, ChatStore에서 그 이후 메시지를 따라잡는다
+    // 검색 요청 스레드에서 실행되므로 load-catch-up-limit 개까지만 따라잡고 나머지는 색인 스레드에서 이어간다
+    private RoomSearchIndex load(Long roomId) throws IOException {
+        synchronized (fileLock(roomId)) {
+            Path snapshot = snapshotPath(roomId);
+            Path logFile = logPath(roomId);
+
+            RoomSearchIndex room = new RoomSearchIndex();
+            if (Files.exists(snapshot)) {
+                try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(snapshot)))) {
+                    room = RoomSearchIndex.readFrom(in);
+                } catch (IOException e) {
+                    // 로그는 스냅샷 이후분이라 단독으로 쓸 수 없으니 함께 버리고 ChatStore에서 다시 만든다
+                    log.warn("Discarding search index of room {}: {}", roomId, e.getMessage());
+                    room = new RoomSearchIndex();
+                    Files.deleteIfExists(snapshot);
+                    Files.deleteIfExists(logFile);
+                }
+            }
+            if (Files.exists(logFile)) {
+                byte[] bytes = Files.readAllBytes(logFile);
+                int valid = room.replay(bytes);
+                if (valid < bytes.length) {
+                    log.warn("Truncating search index log of room {} at {} of {} bytes", roomId, valid, bytes.length);
+                    try (FileChannel channel = FileChannel.open(logFile, StandardOpenOption.WRITE)) {
+                        channel.truncate(valid);
+                    }
+                }
+            }
+
+            ByteArrayOutputStream records = new ByteArrayOutputStream();
+            long before = room.lastSeq();
+            boolean remaining = catchUp(roomId, room, records, loadCatchUpLimit);
+            appendLog(roomId, records.toByteArray());
+            if (room.lastSeq() > before) {
+                log.info("Caught up search index of room {} to seq {}, {} total", roomId, room.lastSeq(), room.docCount());
+            }
+            if (room.unsnapshotted() >= snapshotEvery) {
+                writeSnapshot(roomId, room);
+            }
+            if (remaining && !scheduler.isShutdown()) {
+                RoomSearchIndex loaded = room;
+                scheduler.execute(() -> warm(roomId, loaded));
+            }
+            return room;
+        }
+    }
+
+    // 기록이 많은 채팅방의 나머지 따라잡기 (색인 스레드), 배치마다 잠금을 풀어 검색이 막히지 않게 한다
+    private void warm(Long roomId, RoomSearchIndex room) {
+        try {
+            boolean remaining = true;
+            while (remaining) {
+                synchronized (fileLock(roomId)) {
+                    // 캐시에서 밀려났거나 다시 읽혔으면 새 인스턴스가 알아서 따라잡는다
+                    if (rooms.getIfPresent(roomId) != room) {
+                        return;
+                    }
+                    ByteArrayOutputStream records = new ByteArrayOutputStream();
+                    synchronized (room) {
+                        remaining = catchUp(roomId, room, records, CATCH_UP_BATCH);
+                    }
+                    appendLog(roomId, records.toByteArray());
+                    if (room.unsnapshotted() >= snapshotEvery) {
+                        writeSnapshot(roomId, room);
+                    }
+                }
+            }
+            log.info("Warmed up search index of room {}: {} total", roomId, room.docCount());
+        } catch (Exception e) {
+            log.warn("Failed to warm up search index of room {}: {}", roomId, e.getMessage());
+            rooms.invalidate(roomId);
+        }
+    }
+
+    // room.lastSeq() 다음부터 seq가 이어지는 메시지를 최대 limit 개 추가
+    // limit에 걸려 더 남아 있을 수 있으면 true, 끝까지 읽었거나 공백에서 멈췄으면 false
+    private boolean catchUp(Long roomId, RoomSearchIndex room, ByteArrayOutputStream records, int limit) {
+        int added = 0;
+        try {
+            while (added < limit) {
+                int batch = Math.min(CATCH_UP_BATCH, limit - added);
+                List<ChatMessageResponse> page = chatStore.findSince(roomId, room.lastSeq(), batch);
+                for (ChatMessageResponse message : page) {
+                    if (message.getSeq() <= room.lastSeq()) {
+                        continue;
+                    }
+                    if (message.getSeq() > room.lastSeq() + 1 && !gapExpired(roomId, room.lastSeq())) {
+                        return false;
+                    }
+                    add(room, message.getId(), message.getSeq(), message.getMessage(), records);
+                    added++;
+                }
+                if (page.size() < batch) {
+                    return false;
+                }
+            }
+            return true;
+        } finally {
+            caughtUp.increment(added);
+        }
+    }
+
+    // 다른 노드의 write-behind가 늦어 앞선 seq가 아직 저장되지 않았을 수 있으므로 기다리고,
+    // 제한 시간이 지나도 채워지지 않으면(저장 실패 등으로 영영 없는 seq) 건너뛴다
+    // 빈 색인의 첫 공백은 보존 기간이 지나 삭제된 기록이므로 바로 건너뛴다
+    private boolean gapExpired(Long roomId, long lastSeq) {
+        if (lastSeq == 0) {
+            return true;
+        }
+        long now = System.currentTimeMillis();
+        long[] gap = gaps.compute(roomId, (id, seen) -> seen == null || seen[0] != lastSeq ? new long[]{lastSeq, now} : seen);
+        if (now - gap[1] < gapTimeoutMillis) {
+            return false;
+        }
+        gaps.remove(roomId);
+        log.warn("Skipping missing chat seq after {} in search index of room {}", lastSeq, roomId);
+        return true;
+    }
+
+    private static void add(RoomSearchIndex room, long id, long seq, String message, ByteArrayOutputStream records) {
+        List<String> tokens = NgramTokenizer.tokenize(message);
+        Set<String> terms = new LinkedHashSet<>(tokens);
+        room.add(id, seq, tokens.size(), terms);
+        records.writeBytes(RoomSearchIndex.encodeRecord(id, seq, tokens.size(), terms));
+    }
+
+    // 로그는 ChatStore로 다시 만들 수 있어 fsync 하지 않는다
+    private void appendLog(Long roomId, byte[] records) throws IOException {
+        if (records.length > 0) {
+            Files.write(logPath(roomId), records, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        }
+    }
+
+    // 임시 파일에 쓴 뒤 교체하고 로그를 비운다 (교체 후 로그 삭제 전에 죽어도 replay가 seq로 중복을 거른다)
+    private void writeSnapshot(Long roomId, RoomSearchIndex room) throws IOException {
+        Path snapshot = snapshotPath(roomId);
+        Path temp = directory.resolve(snapshot.getFileName() + ".tmp");
+        synchronized (room) {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                room.writeTo(out);
+            }
+            room.markSnapshotted();
+        }
+        Files.move(temp, snapshot, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        Files.deleteIfExists(logPath(roomId));
+    }
+
+    private Path snapshotPath(Long roomId) {
+        return directory.resolve("room-" + roomId + SNAPSHOT_SUFFIX);
+    }
+
+    private Path logPath(Long roomId) {
+        return directory.resolve("room-" + roomId + LOG_SUFFIX);
+    }
+
+    private Object fileLock(Long roomId) {
+        return fileLocks[Math.floorMod(roomId.hashCode(), fileLocks.length)];
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Hit {
+        private final long messageId;
+        private final double score;
+    }
+}
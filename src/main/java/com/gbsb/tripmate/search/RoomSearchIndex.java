@@ -0,0 +1,321 @@
+package com.gbsb.tripmate.search;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.util.*;
+import java.util.zip.CRC32;
+
+// 채팅방 하나의 역색인 (토큰 -> 메시지 번호 목록), 호출하는 쪽에서 synchronized(this)로 보호
+// 메시지 번호는 채팅방 안에서 색인된 순서(0부터)라 목록은 항상 오름차순이고, 번호 -> message id는 ids 배열로 찾는다.
+// 채팅은 짧아서 한 메시지 안의 같은 토큰은 한 번만 기록하고(tf=1) BM25의 idf와 길이 보정만 점수에 쓴다.
+final class RoomSearchIndex {
+
+    private static final int MAGIC = 0x43534958;
+    // 토큰 방식이 바뀌면 올린다 (이전 스냅샷과 로그는 버리고 ChatStore에서 다시 색인)
+    private static final int VERSION = 2;
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private long lastSeq;
+    private int docCount;
+    private long[] ids = new long[16];
+    // 메시지별 토큰 수 (65535에서 자름)
+    private char[] lengths = new char[16];
+    private long totalLength;
+    private final Map<String, Postings> terms = new HashMap<>();
+
+    // 스냅샷 이후 로그에만 있는 메시지 수
+    private int unsnapshotted;
+
+    long lastSeq() {
+        return lastSeq;
+    }
+
+    int docCount() {
+        return docCount;
+    }
+
+    int unsnapshotted() {
+        return unsnapshotted;
+    }
+
+    void markSnapshotted() {
+        unsnapshotted = 0;
+    }
+
+    void add(long id, long seq, int length, Collection<String> uniqueTerms) {
+        if (docCount == ids.length) {
+            ids = Arrays.copyOf(ids, docCount * 2);
+            lengths = Arrays.copyOf(lengths, docCount * 2);
+        }
+        int doc = docCount++;
+        ids[doc] = id;
+        lengths[doc] = (char) Math.min(length, Character.MAX_VALUE);
+        totalLength += length;
+        for (String term : uniqueTerms) {
+            terms.computeIfAbsent(term, key -> new Postings()).add(doc);
+        }
+        lastSeq = seq;
+        unsnapshotted++;
+    }
+
+    // 단어 안의 토큰은 모두 포함해야 하고(AND), 단어끼리는 하나만 맞아도 된다(OR)
+    // 단어마다 가장 짧은 목록을 최신 메시지부터 훑으며 나머지 목록은 galloping 탐색으로 확인하고,
+    // 일치 maxCandidates 개 또는 scanLimit 개를 훑으면 멈춰 채팅방 크기와 무관하게 조회 비용을 묶는다.
+    List<ChatSearchIndex.Hit> search(List<List<String>> words, int limit, int maxCandidates, int scanLimit) {
+        if (docCount == 0) {
+            return List.of();
+        }
+        double averageLength = Math.max(1.0, (double) totalLength / docCount);
+        Map<Integer, Double> scores = new HashMap<>();
+
+        for (List<String> word : words) {
+            List<Postings> lists = new ArrayList<>();
+            double idf = 0;
+            for (String term : new LinkedHashSet<>(word)) {
+                Postings postings = terms.get(term);
+                if (postings == null) {
+                    lists = null;
+                    break;
+                }
+                lists.add(postings);
+                idf += Math.log(1 + (docCount - postings.size + 0.5) / (postings.size + 0.5));
+            }
+            if (lists == null) {
+                continue;
+            }
+            lists.sort(Comparator.comparingInt(postings -> postings.size));
+
+            Postings rarest = lists.get(0);
+            int[] upper = new int[lists.size()];
+            for (int k = 1; k < lists.size(); k++) {
+                upper[k] = lists.get(k).size - 1;
+            }
+            int matched = 0;
+            int scanned = 0;
+            scan:
+            for (int i = rarest.size - 1; i >= 0 && matched < maxCandidates && scanned < scanLimit; i--, scanned++) {
+                int doc = rarest.docs[i];
+                for (int k = 1; k < lists.size(); k++) {
+                    Postings other = lists.get(k);
+                    int at = other.seekDown(doc, upper[k]);
+                    if (at < 0) {
+                        // 이 목록에 더 오래된 메시지가 없으면 남은 후보도 맞을 수 없다
+                        break scan;
+                    }
+                    upper[k] = at;
+                    if (other.docs[at] != doc) {
+                        continue scan;
+                    }
+                }
+                double norm = (K1 + 1) / (1 + K1 * (1 - B + B * lengths[doc] / averageLength));
+                scores.merge(doc, idf * norm, Double::sum);
+                matched++;
+            }
+        }
+
+        // 점수 내림차순, 같으면 최신 메시지 먼저로 상위 limit 개만 힙에 유지
+        Comparator<Map.Entry<Integer, Double>> ranking = Map.Entry.<Integer, Double>comparingByValue()
+                .thenComparing(Map.Entry.comparingByKey());
+        PriorityQueue<Map.Entry<Integer, Double>> top = new PriorityQueue<>(limit + 1, ranking);
+        for (Map.Entry<Integer, Double> entry : scores.entrySet()) {
+            top.add(entry);
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+        List<ChatSearchIndex.Hit> hits = new ArrayList<>(top.size());
+        while (!top.isEmpty()) {
+            Map.Entry<Integer, Double> entry = top.poll();
+            hits.add(new ChatSearchIndex.Hit(ids[entry.getKey()], entry.getValue()));
+        }
+        Collections.reverse(hits);
+        return hits;
+    }
+
+    // 로그 레코드: [길이][CRC32][id][seq][토큰 수][고유 토큰 수][토큰 UTF...]
+    static byte[] encodeRecord(long id, long seq, int length, Collection<String> uniqueTerms) {
+        try {
+            ByteArrayOutputStream body = new ByteArrayOutputStream(64);
+            DataOutputStream out = new DataOutputStream(body);
+            out.writeLong(id);
+            out.writeLong(seq);
+            out.writeInt(length);
+            out.writeInt(uniqueTerms.size());
+            for (String term : uniqueTerms) {
+                out.writeUTF(term);
+            }
+            byte[] bytes = body.toByteArray();
+
+            CRC32 crc = new CRC32();
+            crc.update(VERSION);
+            crc.update(bytes);
+            ByteBuffer record = ByteBuffer.allocate(8 + bytes.length);
+            record.putInt(bytes.length).putInt((int) crc.getValue()).put(bytes);
+            return record.array();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // 로그를 적용하고 정상 레코드가 끝나는 위치를 반환 (그 뒤는 기록 중 중단된 꼬리)
+    // 스냅샷에 이미 들어간 seq의 레코드는 건너뛴다
+    // CRC에 VERSION을 섞으므로 이전 버전의 레코드는 첫 레코드부터 깨진 꼬리로 보고 버린다
+    int replay(byte[] log) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(log);
+        CRC32 crc = new CRC32();
+        while (buffer.remaining() >= 8) {
+            int start = buffer.position();
+            int length = buffer.getInt();
+            int checksum = buffer.getInt();
+            if (length < 0 || length > buffer.remaining()) {
+                return start;
+            }
+            crc.reset();
+            crc.update(VERSION);
+            crc.update(log, buffer.position(), length);
+            if ((int) crc.getValue() != checksum) {
+                return start;
+            }
+
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(log, buffer.position(), length));
+            long id = in.readLong();
+            long seq = in.readLong();
+            int tokens = in.readInt();
+            int count = in.readInt();
+            List<String> uniqueTerms = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                uniqueTerms.add(in.readUTF());
+            }
+            if (seq > lastSeq) {
+                add(id, seq, tokens, uniqueTerms);
+            }
+            buffer.position(buffer.position() + length);
+        }
+        return buffer.position();
+    }
+
+    // 목록은 직전 번호와의 차이를 varint로 저장
+    void writeTo(DataOutputStream out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeLong(lastSeq);
+        out.writeInt(docCount);
+        out.writeLong(totalLength);
+        for (int i = 0; i < docCount; i++) {
+            out.writeLong(ids[i]);
+            out.writeChar(lengths[i]);
+        }
+        out.writeInt(terms.size());
+        for (Map.Entry<String, Postings> entry : terms.entrySet()) {
+            Postings postings = entry.getValue();
+            out.writeUTF(entry.getKey());
+            out.writeInt(postings.size);
+            int previous = 0;
+            for (int i = 0; i < postings.size; i++) {
+                writeVarInt(out, postings.docs[i] - previous);
+                previous = postings.docs[i];
+            }
+        }
+    }
+
+    static RoomSearchIndex readFrom(DataInputStream in) throws IOException {
+        if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+            throw new IOException("Unsupported search index snapshot");
+        }
+        RoomSearchIndex index = new RoomSearchIndex();
+        index.lastSeq = in.readLong();
+        index.docCount = in.readInt();
+        index.totalLength = in.readLong();
+        index.ids = new long[Math.max(16, index.docCount)];
+        index.lengths = new char[Math.max(16, index.docCount)];
+        for (int i = 0; i < index.docCount; i++) {
+            index.ids[i] = in.readLong();
+            index.lengths[i] = in.readChar();
+        }
+        int termCount = in.readInt();
+        for (int t = 0; t < termCount; t++) {
+            String term = in.readUTF();
+            Postings postings = new Postings(in.readInt());
+            int doc = 0;
+            for (int i = 0; i < postings.docs.length; i++) {
+                doc += readVarInt(in);
+                postings.docs[i] = doc;
+            }
+            postings.size = postings.docs.length;
+            index.terms.put(term, postings);
+        }
+        return index;
+    }
+
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static int readVarInt(DataInputStream in) throws IOException {
+        int value = 0;
+        for (int shift = 0; ; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+    }
+
+    private static final class Postings {
+        private int[] docs;
+        private int size;
+
+        Postings() {
+            this(4);
+        }
+
+        Postings(int capacity) {
+            docs = new int[capacity];
+        }
+
+        void add(int doc) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, Math.max(4, size * 2));
+            }
+            docs[size++] = doc;
+        }
+
+        // hi 이하에서 docs[i] <= target 인 가장 큰 i (없으면 -1)
+        // 내려가며 찾으므로 간격을 두 배씩 늘려 범위를 잡은 뒤 이분 탐색
+        int seekDown(int target, int hi) {
+            if (hi < 0) {
+                return -1;
+            }
+            if (docs[hi] <= target) {
+                return hi;
+            }
+            int above = hi;
+            int step = 1;
+            int at = hi - 1;
+            while (at >= 0 && docs[at] > target) {
+                above = at;
+                step <<= 1;
+                at = above - step;
+            }
+            int lo = Math.max(at, 0);
+            int high = above - 1;
+            int found = -1;
+            while (lo <= high) {
+                int mid = (lo + high) >>> 1;
+                if (docs[mid] <= target) {
+                    found = mid;
+                    lo = mid + 1;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            return found;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.gbsb.tripmate.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// 운영자 권한 부여 (security.admin-emails 에 등록된 이메일의 사용자에게 ROLE_ADMIN)
+// actuator 엔드포인트 등 운영용 API 접근 제어에 사용
+@Component
+public class AdminAuthorities {
+
+    public static final String ROLE = "ADMIN";
+
+    private static final List<GrantedAuthority> ADMIN = List.of(new SimpleGrantedAuthority("ROLE_" + ROLE));
+
+    private final Set<String> adminEmails;
+
+    public AdminAuthorities(@Value("${security.admin-emails:}") String adminEmails) {
+        this.adminEmails = Arrays.stream(adminEmails.split(","))
+                .map(String::trim)
+                .filter(email -> !email.isEmpty())
+                .map(email -> email.toLowerCase(Locale.ROOT))
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    public Collection<? extends GrantedAuthority> of(String email) {
+        if (email != null && adminEmails.contains(email.toLowerCase(Locale.ROOT))) {
+            return ADMIN;
+        }
+        return List.of();
+    }
+}
@@ -0,0 +1,22 @@
+package com.gbsb.tripmate.security;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.security.Principal;
+import java.util.Date;
+
+@Getter
+@AllArgsConstructor
+public class JwtPrincipal implements Principal {
+    private final String username;
+    private final Long userId;
+    private final String nickname;
+    private final long tokenVersion;
+    private final Date expiration;
+
+    @Override
+    public String getName() {
+        return username;
+    }
+}
@@ -0,0 +1,264 @@
+package com.gbsb.tripmate.service;
+
+import com.gbsb.tripmate.event.ChatPersistedEvent;
+import com.gbsb.tripmate.store.ChatEntry;
+import io.micrometer.core.instrument.*;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.NonTransientDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+// 채팅 메시지 write-behind 저장
+// 메시지는 bounded 큐에 넣고 바로 반환하며, 전용 스레드가 모아서 multi-row INSERT로 저장한다.
+// 큐에 들어간 메시지는 이미 순번을 받아 브로드캐스트되므로, DB 장애 중에는 버리지 않고 저장될 때까지 재시도한다.
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "chat.store.type", havingValue = "jpa", matchIfMissing = true)
+public class ChatMessageWriter implements SmartLifecycle {
+
+    private static final String INSERT_PREFIX = "INSERT INTO chat (id, chatroom_id, seq, writer, message, created_at) VALUES ";
+    private static final String ROW_PLACEHOLDER = "(?, ?, ?, ?, ?, ?)";
+    private static final long MAX_RETRY_DELAY_MILLIS = 5_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BlockingQueue<ChatEntry> queue;
+    // 큐의 빈 자리 (자리를 먼저 확보한 뒤 순번을 받아 큐에 넣는다)
+    private final Semaphore slots;
+    private final int batchSize;
+    private final long flushIntervalMillis;
+    private final long offerTimeoutMillis;
+    private final int maxRetries;
+
+    private final Timer flushTimer;
+    private final DistributionSummary batchSizeSummary;
+    private final Counter rejected;
+    private final Counter failed;
+
+    // flush 대기용 (큐에 넣은 수 / 저장 또는 실패 처리된 수)
+    private final AtomicLong enqueued = new AtomicLong();
+    private final AtomicLong completed = new AtomicLong();
+
+    private volatile boolean running;
+    private Thread writerThread;
+
+    public ChatMessageWriter(JdbcTemplate jdbcTemplate,
+                             ApplicationEventPublisher eventPublisher,
+                             MeterRegistry meterRegistry,
+                             @Value("${chat.write-behind.queue-capacity:10000}") int queueCapacity,
+                             @Value("${chat.write-behind.batch-size:500}") int batchSize,
+                             @Value("${chat.write-behind.flush-interval-ms:50}") long flushIntervalMillis,
+                             @Value("${chat.write-behind.offer-timeout-ms:100}") long offerTimeoutMillis,
+                             @Value("${chat.write-behind.max-retries:3}") int maxRetries) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventPublisher = eventPublisher;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.slots = new Semaphore(queueCapacity);
+        this.batchSize = batchSize;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.offerTimeoutMillis = offerTimeoutMillis;
+        this.maxRetries = maxRetries;
+
+        this.flushTimer = Timer.builder("chat.write-behind.flush").register(meterRegistry);
+        this.batchSizeSummary = DistributionSummary.builder("chat.write-behind.batch.size").register(meterRegistry);
+        this.rejected = Counter.builder("chat.write-behind.rejected").register(meterRegistry);
+        this.failed = Counter.builder("chat.write-behind.failed").register(meterRegistry);
+        Gauge.builder("chat.write-behind.queue.depth", queue, BlockingQueue::size).register(meterRegistry);
+    }
+
+    // 큐가 가득 차 있으면 잠시 기다린 뒤 실패 (false, 순번을 받지 않는다)
+    public boolean enqueue(ChatEntry chat, LongSupplier sequence) {
+        try {
+            if (running && slots.tryAcquire(offerTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                try {
+                    chat.setSeq(sequence.getAsLong());
+                } catch (RuntimeException e) {
+                    slots.release();
+                    throw e;
+                }
+                // 자리를 확보했으므로 실패하지 않는다
+                queue.add(chat);
+                enqueued.incrementAndGet();
+                return true;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        rejected.increment();
+        return false;
+    }
+
+    // 호출 시점까지 큐에 넣은 메시지가 모두 처리될 때까지 대기
+    public void awaitFlushed() {
+        long target = enqueued.get();
+        while (completed.get() < target) {
+            try {
+                Thread.sleep(1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        writerThread = new Thread(this::drainLoop, "chat-write-behind");
+        writerThread.start();
+    }
+
+    // 웹 서버가 요청을 더 받지 않는 시점 이후에 남은 메시지를 모두 저장하고 종료
+    @Override
+    public void stop() {
+        running = false;
+        try {
+            writerThread.join(TimeUnit.SECONDS.toMillis(30));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!queue.isEmpty()) {
+            log.warn("Flushing {} remaining chat messages on shutdown", queue.size());
+            List<ChatEntry> remaining = new ArrayList<>();
+            queue.drainTo(remaining);
+            slots.release(remaining.size());
+            for (int from = 0; from < remaining.size(); from += batchSize) {
+                flush(remaining.subList(from, Math.min(from + batchSize, remaining.size())));
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        // 웹 서버(graceful shutdown)보다 늦게 종료
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private void drainLoop() {
+        List<ChatEntry> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                ChatEntry first = queue.poll(flushIntervalMillis, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                slots.release(batch.size());
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("Unexpected error in chat write-behind loop", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    // 배치가 maxRetries 번 넘게 실패하면 한 행씩 나눠 저장한다
+    private void flush(List<ChatEntry> batch) {
+        for (int attempt = 1; ; attempt++) {
+            long started = System.nanoTime();
+            try {
+                insert(batch);
+                flushTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+                batchSizeSummary.record(batch.size());
+                publishPersisted(batch);
+                completed.addAndGet(batch.size());
+                return;
+            } catch (Exception e) {
+                if (attempt > maxRetries) {
+                    log.warn("Failed to flush {} chat messages after {} attempts, retrying one by one", batch.size(), attempt, e);
+                    break;
+                }
+                log.warn("Failed to flush {} chat messages (attempt {}): {}", batch.size(), attempt, e.getMessage());
+                backoff(attempt);
+            }
+        }
+        for (ChatEntry chat : batch) {
+            flushOne(chat);
+        }
+    }
+
+    // 일시적인 오류(DB 연결 끊김 등)는 저장될 때까지 재시도한다.
+    // 그동안 큐가 차면 새 메시지는 SERVER_BUSY로 거절되고 순번을 쓰지 않는다.
+    // 재시도해도 저장할 수 없는 데이터 오류와, 종료 중 maxRetries를 넘긴 경우만 버린다.
+    private void flushOne(ChatEntry chat) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                insert(List.of(chat));
+                publishPersisted(List.of(chat));
+                completed.incrementAndGet();
+                return;
+            } catch (Exception e) {
+                boolean permanent = e instanceof NonTransientDataAccessException;
+                boolean stopping = !running || Thread.currentThread().isInterrupted();
+                if (permanent || (stopping && attempt > maxRetries)) {
+                    failed.increment();
+                    completed.incrementAndGet();
+                    log.error("Dropped chat message {} (room {}, seq {}) after {} attempts",
+                            chat.getId(), chat.getRoomId(), chat.getSeq(), attempt, e);
+                    return;
+                }
+                if (attempt % 10 == 0) {
+                    log.warn("Still failing to save chat message {} (attempt {}): {}", chat.getId(), attempt, e.getMessage());
+                }
+                backoff(attempt);
+            }
+        }
+    }
+
+    private void insert(List<ChatEntry> batch) {
+        String sql = INSERT_PREFIX + String.join(", ", Collections.nCopies(batch.size(), ROW_PLACEHOLDER));
+        Object[] args = new Object[batch.size() * 6];
+        int i = 0;
+        for (ChatEntry chat : batch) {
+            args[i++] = chat.getId();
+            args[i++] = chat.getRoomId();
+            args[i++] = chat.getSeq();
+            args[i++] = chat.getWriter();
+            args[i++] = chat.getMessage();
+            args[i++] = Timestamp.valueOf(chat.getCreatedAt());
+        }
+        jdbcTemplate.update(sql, args);
+    }
+
+    private void backoff(int attempt) {
+        try {
+            Thread.sleep(Math.min(100L * attempt, MAX_RETRY_DELAY_MILLIS));
+        } catch (InterruptedException interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // 저장된 메시지만 안 읽은 수 등에 반영
+    private void publishPersisted(List<ChatEntry> batch) {
+        try {
+            eventPublisher.publishEvent(new ChatPersistedEvent(List.copyOf(batch)));
+        } catch (Exception e) {
+            log.warn("Failed to publish persisted event for {} chat messages: {}", batch.size(), e.getMessage());
+        }
+    }
+}
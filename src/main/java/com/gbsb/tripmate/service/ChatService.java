@@ -1,63 +1,199 @@
 package com.gbsb.tripmate.service;
 
-import com.gbsb.tripmate.dto.BaseResponse;
+import com.gbsb.tripmate.dto.ChatHistoryResponse;
 import com.gbsb.tripmate.dto.ChatMessageDTO;
-import com.gbsb.tripmate.entity.Chat;
-import com.gbsb.tripmate.entity.ChatRoom;
-import com.gbsb.tripmate.entity.User;
+import com.gbsb.tripmate.dto.ChatMessageResponse;
+import com.gbsb.tripmate.dto.ChatSearchHit;
+import com.gbsb.tripmate.dto.ChatSyncResponse;
+import com.gbsb.tripmate.dto.UnreadCountResponse;
 import com.gbsb.tripmate.enums.ErrorCode;
 import com.gbsb.tripmate.exception.MeetingException;
-import com.gbsb.tripmate.repository.ChatRepository;
+import com.gbsb.tripmate.repository.ChatRoomParticipantRepository;
 import com.gbsb.tripmate.repository.ChatRoomRepository;
-import com.gbsb.tripmate.repository.UserRepository;
+import com.gbsb.tripmate.repository.MeetingMemberRepository;
+import com.gbsb.tripmate.search.ChatSearchIndex;
+import com.gbsb.tripmate.store.ChatEntry;
+import com.gbsb.tripmate.store.ChatStore;
+import com.gbsb.tripmate.util.SnowflakeIdGenerator;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class ChatService {
 
-    private final ChatRepository chatRepository;
+    private static final int MAX_HISTORY_LIMIT = 100;
+    private static final int MAX_SEARCH_LIMIT = 50;
+    // chat.message 컬럼 길이 (저장할 수 없는 메시지가 순번을 받은 뒤 버려지지 않도록 미리 거절)
+    private static final int MAX_MESSAGE_LENGTH = 255;
+
     private final ChatRoomRepository chatRoomRepository;
+    private final ChatRoomParticipantRepository chatRoomParticipantRepository;
     private final SimpMessagingTemplate messagingTemplate;
-    private final UserRepository userRepository;
+    private final MeetingMemberRepository meetingMemberRepository;
+    private final ChatStore chatStore;
+    private final SnowflakeIdGenerator idGenerator;
+    private final RecentMessageStore recentMessageStore;
+    private final UnreadCountService unreadCountService;
+    private final RoomSequencer roomSequencer;
+    private final ChatSearchIndex chatSearchIndex;
 
-    public void addUserToChat(Long roomId, String userEmail) {
-        User user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new MeetingException(ErrorCode.USER_NOT_FOUND));
-        ChatRoom chatRoom = chatRoomRepository.findByRoomId(roomId)
-                .orElseThrow(() -> new MeetingException(ErrorCode.CHATROOM_NOT_FOUND));
+    // 존재가 확인된 채팅방 (메시지마다 채팅방을 조회하지 않도록)
+    private final Cache<Long, Boolean> knownRooms = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .expireAfterWrite(Duration.ofMinutes(10))
+            .build();
 
-        chatRoom.addParticipant(user);
-        chatRoomRepository.save(chatRoom);
+    // 참여자 목록을 읽지 않고 chatroom_participants에 한 행만 추가/삭제
+    @Transactional
+    public void addUserToChat(Long roomId, Long userId) {
+        chatRoomParticipantRepository.insertParticipant(roomId, userId, chatStore.latestId(roomId));
+        unreadCountService.onJoined(roomId, userId);
     }
 
-    public void removeUserFromChat(Long roomId, String userEmail) {
-        User user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new MeetingException(ErrorCode.USER_NOT_FOUND));
-        ChatRoom chatRoom = chatRoomRepository.findByRoomId(roomId)
-                .orElseThrow(() -> new MeetingException(ErrorCode.CHATROOM_NOT_FOUND));
-
-        chatRoom.removeParticipant(user);
-        chatRoomRepository.save(chatRoom);
+    @Transactional
+    public void removeUserFromChat(Long roomId, Long userId) {
+        chatRoomParticipantRepository.deleteParticipant(roomId, userId);
+        unreadCountService.onLeft(roomId, userId);
     }
 
     public void sendSystemMessage (ChatMessageDTO message) {
+        recentMessageStore.append(message);
         messagingTemplate.convertAndSend("/sub/chat/room" + message.getRoomId(), message);
     }
 
-    @Transactional
-    public BaseResponse<Chat> addChat(ChatMessageDTO chatMessageDTO) {
-        ChatRoom chatRoom = chatRoomRepository.findByRoomId(chatMessageDTO.getRoomId())
-                .orElseThrow(() -> new MeetingException(ErrorCode.CHATROOM_NOT_FOUND));
+    // id와 작성 시각을 부여하고 ChatStore에 저장 (jpa: write-behind 큐, segment: 로그 파일에 바로 추가)
+    // 순번은 ChatStore가 메시지를 받아들일 때만 부여하므로 SERVER_BUSY로 거절된 메시지는 순번을 비우지 않는다
+    public void addChat(ChatMessageDTO chatMessageDTO, Long writerId) {
+        Long roomId = chatMessageDTO.getRoomId();
+        if (knownRooms.getIfPresent(roomId) == null) {
+            if (!chatRoomRepository.existsById(roomId)) {
+                throw new MeetingException(ErrorCode.CHATROOM_NOT_FOUND);
+            }
+            knownRooms.put(roomId, Boolean.TRUE);
+        }
+        String message = chatMessageDTO.getMessage();
+        if (message != null && message.length() > MAX_MESSAGE_LENGTH) {
+            throw new MeetingException(ErrorCode.INVALID_INPUT);
+        }
 
-        Chat chater = chatRepository.save(chatMessageDTO.toChat(chatRoom));
+        LocalDateTime now = LocalDateTime.now();
+        ChatEntry entry = new ChatEntry(idGenerator.nextId(), roomId, null, writerId, chatMessageDTO.getWriter(), message, now);
+        if (!chatStore.append(entry, () -> roomSequencer.next(roomId))) {
+            throw new MeetingException(ErrorCode.SERVER_BUSY);
+        }
+        chatMessageDTO.setId(entry.getId());
+        chatMessageDTO.setSeq(entry.getSeq());
+        chatMessageDTO.setCreatedAt(now.toString());
+        recentMessageStore.append(chatMessageDTO);
+    }
 
-        return new BaseResponse<>("채팅이 성공적으로 저장되었습니다.", chater);
+    public List<UnreadCountResponse> getUnreadCounts(Long userId) {
+        return unreadCountService.getUnreadCounts(userId);
     }
-}
 
+    // 읽음 처리 후 남은 안 읽은 수 반환
+    public long markRead(Long userId, Long roomId, Long messageId) {
+        return unreadCountService.markRead(userId, roomId, messageId);
+    }
+
+    // 채팅방 입장 시 보여줄 최근 메시지 (오래된 순)
+    public List<ChatMessageDTO> getRecentMessages(Long userId, Long roomId, int limit) {
+        if (!meetingMemberRepository.existsActiveMember(roomId, userId)) {
+            throw new MeetingException(ErrorCode.USER_NOT_A_MEMBER_OF_MEETING);
+        }
+        return recentMessageStore.recent(roomId, limit);
+    }
+
+    // 재연결 시 afterSeq 이후 누락된 메시지만 조회
+    // 최근 메시지 버퍼가 구간을 모두 담고 있으면 버퍼에서, 아니면 ChatStore에서 읽는다
+    @Transactional(readOnly = true)
+    public ChatSyncResponse getMessagesSince(Long userId, Long roomId, long afterSeq, int limit) {
+        if (!meetingMemberRepository.existsActiveMember(roomId, userId)) {
+            throw new MeetingException(ErrorCode.USER_NOT_A_MEMBER_OF_MEETING);
+        }
+
+        int size = Math.max(1, Math.min(limit, MAX_HISTORY_LIMIT));
+        long latestSeq = roomSequencer.current(roomId);
+        if (afterSeq >= latestSeq) {
+            return new ChatSyncResponse(List.of(), latestSeq, false);
+        }
+
+        List<ChatMessageResponse> rows;
+        List<ChatMessageDTO> buffered = recentMessageStore.since(roomId, afterSeq, latestSeq);
+        if (buffered != null) {
+            rows = buffered.stream()
+                    .limit(size + 1)
+                    .map(message -> new ChatMessageResponse(message.getId(), message.getRoomId(), message.getSeq(),
+                            message.getWriter(), message.getMessage(),
+                            message.getCreatedAt() == null ? null : LocalDateTime.parse(message.getCreatedAt())))
+                    .toList();
+        } else {
+            rows = chatStore.findSince(roomId, afterSeq, size + 1);
+        }
+
+        boolean hasMore = rows.size() > size;
+        return new ChatSyncResponse(hasMore ? rows.subList(0, size) : rows, latestSeq, hasMore);
+    }
+
+    // 채팅 기록 조회 (before 보다 이전 메시지를 최신순으로 limit 개)
+    @Transactional(readOnly = true)
+    public ChatHistoryResponse getHistory(Long userId, Long roomId, Long before, int limit) {
+        if (!meetingMemberRepository.existsActiveMember(roomId, userId)) {
+            throw new MeetingException(ErrorCode.USER_NOT_A_MEMBER_OF_MEETING);
+        }
+
+        int size = Math.max(1, Math.min(limit, MAX_HISTORY_LIMIT));
+        long cursor = before == null ? Long.MAX_VALUE : before;
+
+        // 다음 페이지 존재 여부 확인을 위해 하나 더 조회
+        List<ChatMessageResponse> rows = chatStore.findHistory(roomId, cursor, size + 1);
+        boolean hasNext = rows.size() > size;
+        List<ChatMessageResponse> messages = hasNext ? rows.subList(0, size) : rows;
+        Long nextCursor = hasNext ? messages.get(messages.size() - 1).getId() : null;
+
+        return new ChatHistoryResponse(messages, nextCursor, hasNext);
+    }
+
+    // 채팅방 메시지 검색: 역색인에서 순위를 매긴 id를 고르고 본문은 ChatStore에서 읽어 스니펫을 만든다
+    public List<ChatSearchHit> searchMessages(Long userId, Long roomId, String query, int limit) {
+        if (!meetingMemberRepository.existsActiveMember(roomId, userId)) {
+            throw new MeetingException(ErrorCode.USER_NOT_A_MEMBER_OF_MEETING);
+        }
+        if (query == null || query.isBlank()) {
+            throw new MeetingException(ErrorCode.INVALID_INPUT);
+        }
+
+        int size = Math.max(1, Math.min(limit, MAX_SEARCH_LIMIT));
+        List<ChatSearchIndex.Hit> hits = chatSearchIndex.search(roomId, query, size);
+        if (hits.isEmpty()) {
+            return List.of();
+        }
+
+        // 보관 기간이 지나 ChatStore에서 지워진 메시지는 결과에서 빠진다
+        Map<Long, ChatMessageResponse> messages = chatStore.findByIds(roomId, hits.stream().map(ChatSearchIndex.Hit::getMessageId).toList())
+                .stream()
+                .collect(Collectors.toMap(ChatMessageResponse::getId, Function.identity()));
+        return hits.stream()
+                .filter(hit -> messages.containsKey(hit.getMessageId()))
+                .map(hit -> {
+                    ChatMessageResponse message = messages.get(hit.getMessageId());
+                    return new ChatSearchHit(message.getId(), message.getSeq(), message.getWriter(),
+                            ChatSearchIndex.snippet(message.getMessage(), query), message.getCreatedAt(), hit.getScore());
+                })
+                .toList();
+    }
+}
@@ -0,0 +1,118 @@
+package com.gbsb.tripmate.service;
+
+import com.gbsb.tripmate.event.ChatMembershipRevokedEvent;
+import com.gbsb.tripmate.repository.MeetingMemberRepository;
+import com.gbsb.tripmate.security.JwtPrincipal;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// STOMP 세션별 채팅방 멤버십 캐시
+// 멤버십은 세션 속성에 저장하고, 탈퇴 이벤트가 오면 해당 사용자의 모든 세션에서 제거한다.
+// 사용자의 세션은 여러 노드에 흩어져 있을 수 있으므로 탈퇴는 Redis pub/sub으로 모든 노드에 전달한다.
+@Slf4j
+@Component
+public class ChatSessionRegistry {
+
+    private static final String MEMBER_ROOMS_ATTRIBUTE = "chat.memberRooms";
+    private static final String REVOKE_CHANNEL = "chat-membership:revoke";
+
+    private final MeetingMemberRepository meetingMemberRepository;
+    private final StringRedisTemplate redisTemplate;
+    private final boolean redisEnabled;
+
+    // userId -> (sessionId -> 멤버로 확인된 roomId 목록)
+    private final Map<Long, Map<String, Set<Long>>> sessionsByUser = new ConcurrentHashMap<>();
+
+    public ChatSessionRegistry(MeetingMemberRepository meetingMemberRepository,
+                               StringRedisTemplate redisTemplate,
+                               ObjectProvider<RedisMessageListenerContainer> listenerContainer,
+                               @Value("${cache.redis.enabled:true}") boolean redisEnabled) {
+        this.meetingMemberRepository = meetingMemberRepository;
+        this.redisTemplate = redisTemplate;
+        this.redisEnabled = redisEnabled;
+
+        // 다른 노드에서 처리된 탈퇴 수신 ("userId:roomId")
+        listenerContainer.ifAvailable(container -> container.addMessageListener(
+                (message, pattern) -> {
+                    String[] revoked = new String(message.getBody(), StandardCharsets.UTF_8).split(":");
+                    revokeLocally(Long.valueOf(revoked[0]), Long.valueOf(revoked[1]));
+                },
+                new ChannelTopic(REVOKE_CHANNEL)));
+    }
+
+    public void register(SimpMessageHeaderAccessor accessor, Long userId) {
+        Map<String, Object> attributes = accessor.getSessionAttributes();
+        if (attributes == null) {
+            return;
+        }
+
+        Set<Long> memberRooms = ConcurrentHashMap.newKeySet();
+        attributes.put(MEMBER_ROOMS_ATTRIBUTE, memberRooms);
+        sessionsByUser.computeIfAbsent(userId, id -> new ConcurrentHashMap<>())
+                .put(accessor.getSessionId(), memberRooms);
+    }
+
+    public boolean isMember(SimpMessageHeaderAccessor accessor, Long userId, Long roomId) {
+        Set<Long> memberRooms = getMemberRooms(accessor);
+        if (memberRooms != null && memberRooms.contains(roomId)) {
+            return true;
+        }
+
+        boolean isMember = meetingMemberRepository.existsActiveMember(roomId, userId);
+        if (isMember && memberRooms != null) {
+            memberRooms.add(roomId);
+        }
+        return isMember;
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        if (event.getUser() instanceof JwtPrincipal principal) {
+            sessionsByUser.computeIfPresent(principal.getUserId(), (userId, sessions) -> {
+                sessions.remove(event.getSessionId());
+                return sessions.isEmpty() ? null : sessions;
+            });
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMembershipRevoked(ChatMembershipRevokedEvent event) {
+        revokeLocally(event.getUserId(), event.getRoomId());
+        if (!redisEnabled) {
+            return;
+        }
+        try {
+            redisTemplate.convertAndSend(REVOKE_CHANNEL, event.getUserId() + ":" + event.getRoomId());
+        } catch (Exception e) {
+            log.warn("Failed to publish chat membership revocation of user {} in room {}: {}",
+                    event.getUserId(), event.getRoomId(), e.getMessage());
+        }
+    }
+
+    private void revokeLocally(Long userId, Long roomId) {
+        Map<String, Set<Long>> sessions = sessionsByUser.get(userId);
+        if (sessions != null) {
+            sessions.values().forEach(memberRooms -> memberRooms.remove(roomId));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Set<Long> getMemberRooms(SimpMessageHeaderAccessor accessor) {
+        Map<String, Object> attributes = accessor.getSessionAttributes();
+        return attributes == null ? null : (Set<Long>) attributes.get(MEMBER_ROOMS_ATTRIBUTE);
+    }
+}
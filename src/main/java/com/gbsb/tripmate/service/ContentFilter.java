@@ -0,0 +1,138 @@
+package com.gbsb.tripmate.service;
+
+import com.gbsb.tripmate.util.AhoCorasick;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+// 채팅 금칙어 치환
+// 사전은 한 줄에 한 단어 (#으로 시작하는 줄은 주석), 재로딩 시 새 오토마톤을 만든 뒤 참조만 교체하므로
+// 처리 중인 메시지는 이전 오토마톤으로 끝까지 처리된다.
+// 재로딩 요청은 Redis pub/sub으로 다른 노드에도 전달되며, 각 노드는 자기 사전 파일을 다시 읽는다.
+@Slf4j
+@Component
+public class ContentFilter {
+
+    private static final String RELOAD_CHANNEL = "chat-filter:reload";
+
+    // 자기가 발행한 재로딩 메시지를 구분하기 위한 노드 식별자
+    private final String instanceId = UUID.randomUUID().toString();
+    private final StringRedisTemplate redisTemplate;
+    private final boolean redisEnabled;
+    private final Resource dictionary;
+    private final boolean enabled;
+    private final Counter masked;
+
+    private volatile AhoCorasick automaton = AhoCorasick.build(List.of());
+    private volatile long loadedAt;
+
+    public ContentFilter(MeterRegistry meterRegistry,
+                         StringRedisTemplate redisTemplate,
+                         ObjectProvider<RedisMessageListenerContainer> listenerContainer,
+                         @Value("${cache.redis.enabled:true}") boolean redisEnabled,
+                         @Value("${chat.filter.dictionary:classpath:banned-words.txt}") Resource dictionary,
+                         @Value("${chat.filter.enabled:true}") boolean enabled) {
+        this.redisTemplate = redisTemplate;
+        this.redisEnabled = redisEnabled;
+        this.dictionary = dictionary;
+        this.enabled = enabled;
+        this.masked = Counter.builder("chat.filter.masked").register(meterRegistry);
+        Gauge.builder("chat.filter.words", this, filter -> filter.automaton.wordCount()).register(meterRegistry);
+
+        if (enabled) {
+            try {
+                reload();
+            } catch (Exception e) {
+                // 사전을 읽지 못해도 채팅은 동작하도록 빈 사전으로 시작
+                log.error("Failed to load chat filter dictionary {}", dictionary, e);
+            }
+        }
+
+        // 다른 노드에서 요청한 재로딩 수신
+        listenerContainer.ifAvailable(container -> container.addMessageListener(
+                (message, pattern) -> onReloadRequested(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(RELOAD_CHANNEL)));
+    }
+
+    public String mask(String message) {
+        if (!enabled) {
+            return message;
+        }
+        String result = automaton.mask(message);
+        if (result != message) {
+            masked.increment();
+        }
+        return result;
+    }
+
+    // 이 노드의 사전을 다시 읽고 다른 노드에도 재로딩을 요청, 이 노드에 적재된 단어 수 반환
+    public int reloadAll() throws IOException {
+        int words = reload();
+        if (redisEnabled) {
+            try {
+                redisTemplate.convertAndSend(RELOAD_CHANNEL, instanceId);
+            } catch (Exception e) {
+                log.warn("Failed to publish chat filter reload, other nodes keep their dictionary: {}", e.getMessage());
+            }
+        }
+        return words;
+    }
+
+    // 사전 파일을 다시 읽어 교체, 적재된 단어 수 반환
+    public synchronized int reload() throws IOException {
+        List<String> words = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(dictionary.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String word = line.trim();
+                if (!word.isEmpty() && !word.startsWith("#")) {
+                    words.add(word);
+                }
+            }
+        }
+
+        long started = System.currentTimeMillis();
+        AhoCorasick built = AhoCorasick.build(words);
+        automaton = built;
+        loadedAt = System.currentTimeMillis();
+        log.info("Loaded chat filter dictionary: {} words, {} states in {} ms",
+                built.wordCount(), built.stateCount(), loadedAt - started);
+        return built.wordCount();
+    }
+
+    private void onReloadRequested(String requestedBy) {
+        if (!enabled || instanceId.equals(requestedBy)) {
+            return;
+        }
+        try {
+            reload();
+        } catch (Exception e) {
+            log.error("Failed to reload chat filter dictionary {}", dictionary, e);
+        }
+    }
+
+    public int wordCount() {
+        return automaton.wordCount();
+    }
+
+    public long loadedAt() {
+        return loadedAt;
+    }
+}
@@ -2,9 +2,11 @@ package com.gbsb.tripmate.service;
 
 import com.gbsb.tripmate.entity.User;
 import com.gbsb.tripmate.repository.UserRepository;
+import com.gbsb.tripmate.security.AdminAuthorities;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
@@ -13,29 +15,72 @@ import java.util.Collection;
 import java.util.Collections;
 
 @Service
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private UserDetailsCache userDetailsCache;
+
+    @Autowired
+    private AdminAuthorities adminAuthorities;
+
+    // 로그인(AuthenticationManager)용, 비밀번호 해시가 필요하므로 캐시를 거치지 않고 DB에서 조회
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
 
-        return new CustomUserDetails(user);
+        return new CustomUserDetails(user, adminAuthorities.of(user.getEmail()));
+    }
+
+    // uid 클레임이 없는 이전 형식 토큰의 사용자 조회용, 비밀번호 없이 캐시된 프로필 사용
+    public CustomUserDetails loadUserProfile(String email) throws UsernameNotFoundException {
+        User user = userDetailsCache.get(email, userRepository::findByEmail)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
+
+        return new CustomUserDetails(user, adminAuthorities.of(user.getEmail()));
+    }
+
+    // 로그인 성공 시 저장된 해시의 cost가 설정값보다 낮으면 DaoAuthenticationProvider가 새 해시로 호출
+    @Override
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        User user = userRepository.findByEmail(userDetails.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + userDetails.getUsername()));
+        user.setPassword(newPassword);
+        userRepository.save(user);
+        userDetailsCache.evict(user.getEmail());
+
+        return new CustomUserDetails(user, adminAuthorities.of(user.getEmail()));
     }
 
     public static class CustomUserDetails implements UserDetails {
         private final User user;
+        private final Collection<? extends GrantedAuthority> authorities;
 
         public CustomUserDetails(User user) {
+            this(user, Collections.emptyList());
+        }
+
+        public CustomUserDetails(User user, Collection<? extends GrantedAuthority> authorities) {
             this.user = user;
+            this.authorities = authorities;
+        }
+
+        // JWT 클레임으로 DB 조회 없이 principal 구성
+        public static CustomUserDetails of(Long id, String email, String nickname,
+                                           Collection<? extends GrantedAuthority> authorities) {
+            User user = new User();
+            user.setId(id);
+            user.setEmail(email);
+            user.setNickname(nickname);
+            return new CustomUserDetails(user, authorities);
         }
 
         @Override
         public Collection<? extends GrantedAuthority> getAuthorities() {
-            return Collections.emptyList(); // 또는 사용자의 권한에 따라 설정
+            return authorities;
         }
 
         @Override
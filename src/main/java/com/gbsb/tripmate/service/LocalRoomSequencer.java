@@ -0,0 +1,39 @@
+package com.gbsb.tripmate.service;
+
+import com.gbsb.tripmate.store.ChatStore;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 단일 노드용 순번
+// 채팅방을 처음 사용할 때 ChatStore의 최대 seq로 시작하고 이후에는 AtomicLong 증가만 한다.
+@Component
+@ConditionalOnProperty(name = "chat.broker.mode", havingValue = "simple", matchIfMissing = true)
+@RequiredArgsConstructor
+public class LocalRoomSequencer implements RoomSequencer {
+
+    private final ChatStore chatStore;
+
+    private final ConcurrentHashMap<Long, AtomicLong> sequences = new ConcurrentHashMap<>();
+
+    @Override
+    public long next(Long roomId) {
+        return counter(roomId).incrementAndGet();
+    }
+
+    @Override
+    public long current(Long roomId) {
+        return counter(roomId).get();
+    }
+
+    private AtomicLong counter(Long roomId) {
+        AtomicLong counter = sequences.get(roomId);
+        if (counter != null) {
+            return counter;
+        }
+        return sequences.computeIfAbsent(roomId, id -> new AtomicLong(chatStore.maxSeq(id)));
+    }
+}
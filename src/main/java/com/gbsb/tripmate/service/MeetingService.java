@@ -3,9 +3,11 @@ package com.gbsb.tripmate.service;
 import com.gbsb.tripmate.dto.*;
 import com.gbsb.tripmate.entity.*;
 import com.gbsb.tripmate.enums.ErrorCode;
+import com.gbsb.tripmate.event.ChatMembershipRevokedEvent;
 import com.gbsb.tripmate.exception.MeetingException;
 import com.gbsb.tripmate.repository.*;
 import lombok.AllArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -15,7 +17,9 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.util.Base64;
 import java.util.List;
 import java.util.Objects;
 
@@ -24,12 +28,15 @@ import java.util.Objects;
 @AllArgsConstructor
 public class MeetingService {
 
+    private static final int MAX_FEED_SIZE = 50;
+
     private final MeetingRepository meetingRepository;
     private final UserRepository userRepository;
     private final MeetingMemberRepository meetingMemberRepository;
-    private final DailyParticipationRepository dailyParticipationRepository;
+    private final TripParticipationRepository tripParticipationRepository;
     private final ChatRoomRepository chatRoomRepository;
     private final ChatService chatService;
+    private final ApplicationEventPublisher eventPublisher;
 
     // 모임 생성
     public Meeting createMeeting(Long id, MeetingCreateRequest request) {
@@ -74,30 +81,58 @@ public class MeetingService {
                 .joinDate(LocalDate.now())
                 .build();
 
-        chatService.addUserToChat(chatRoom.getRoomId(), leader.getUser().getEmail());
+        chatService.addUserToChat(chatRoom.getRoomId(), leader.getUser().getId());
         meetingMemberRepository.save(leader);
 
         return savedMeeting;
     }
 
-    // 모임 목록 조회
-    public Page<MeetingResponse> getAllMeetings(int page, int size, String sortBy) {
-        Pageable pageable = PageRequest.of(page, size, Sort.by(sortBy).ascending());
-        Page<Meeting> meetings = meetingRepository.findAll(pageable);
+    // 모임 피드 (커서 기반): OFFSET/COUNT 없이 마지막으로 본 (createdDate, id) 다음부터 조회
+    @Transactional(readOnly = true)
+    public MeetingFeedResponse getMeetingFeed(String cursor, int size) {
+        int limit = Math.max(1, Math.min(size, MAX_FEED_SIZE));
+
+        // 다음 페이지 존재 여부 확인을 위해 하나 더 조회
+        Pageable pageable = PageRequest.of(0, limit + 1);
+        List<MeetingResponse> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = meetingRepository.findFeed(pageable);
+        } else {
+            String[] position = decodeCursor(cursor);
+            rows = meetingRepository.findFeedAfter(LocalDate.parse(position[0]), Long.parseLong(position[1]), pageable);
+        }
 
-        return meetings.map(this::convertToDto);
+        boolean hasNext = rows.size() > limit;
+        List<MeetingResponse> meetings = hasNext ? rows.subList(0, limit) : rows;
+        String nextCursor = hasNext ? encodeCursor(meetings.get(meetings.size() - 1)) : null;
+        return new MeetingFeedResponse(meetings, nextCursor, hasNext);
     }
 
-    private MeetingResponse convertToDto(Meeting meeting) {
-        return new MeetingResponse(
-                meeting.getMeetingId(),
-                meeting.getMeetingTitle(),
-                meeting.getMeetingDescription(),
-                meeting.getDestination(),
-                meeting.getMeetingLeader().getNickname(),
-                meeting.getTravelStartDate(),
-                meeting.getTravelEndDate()
-        );
+    // 커서는 "createdDate:id"를 base64url로 감싼 값 (클라이언트는 내용에 의존하지 않는다)
+    private static String encodeCursor(MeetingResponse last) {
+        String position = last.getCreatedDate() + ":" + last.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String[] decodeCursor(String cursor) {
+        try {
+            String[] position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":");
+            if (position.length != 2) {
+                throw new IllegalArgumentException(cursor);
+            }
+            LocalDate.parse(position[0]);
+            Long.parseLong(position[1]);
+            return position;
+        } catch (RuntimeException e) {
+            throw new MeetingException(ErrorCode.INVALID_REQUEST);
+        }
+    }
+
+    // 모임 목록 조회 (페이지 번호 방식, 관리자 화면용)
+    @Transactional(readOnly = true)
+    public Page<MeetingResponse> getAllMeetings(int page, int size, String sortBy) {
+        Pageable pageable = PageRequest.of(page, size, Sort.by(sortBy).ascending());
+        return meetingRepository.findMeetingList(pageable);
     }
 
     // 모임 삭제
@@ -163,9 +198,10 @@ public class MeetingService {
             JoinMeeting.Request request
     ) {
         // 회원 찾기
+        // 기간 중복 확인과 참여 저장 사이에 같은 사용자의 다른 참여 요청이 끼어들지 않도록 사용자 행을 잠근다
         UserDetails userDetails = (UserDetails) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
         String userEmail = userDetails.getUsername();
-        User user = userRepository.findByEmail(userEmail)
+        User user = userRepository.findByEmailForUpdate(userEmail)
                 .orElseThrow(() -> new MeetingException(ErrorCode.USER_NOT_FOUND));
 
         // groupId로 참여할 모임 찾기
@@ -176,6 +212,25 @@ public class MeetingService {
         if (Objects.equals(user.getId(), meeting.getMeetingLeader().getId()))
             throw new MeetingException(ErrorCode.CREATED_BY_USER);
 
+        if (request.getTravelStartDate().isAfter(request.getTravelEndDate())) {
+            throw new MeetingException(ErrorCode.INVALID_TRAVEL_DATE);
+        }
+
+        if (request.getTravelStartDate().isBefore(meeting.getTravelStartDate()) ||
+                request.getTravelStartDate().isAfter(meeting.getTravelEndDate())) {
+            throw new MeetingException(ErrorCode.INVALID_MEETING_TRAVEL_DATE);
+        }
+
+        if (request.getTravelEndDate().isBefore(meeting.getTravelStartDate()) ||
+                request.getTravelEndDate().isAfter(meeting.getTravelEndDate())) {
+            throw new MeetingException(ErrorCode.INVALID_MEETING_TRAVEL_DATE);
+        }
+
+        // 이미 참여 중인 다른 모임과 기간이 하루라도 겹치면 already joined
+        if (tripParticipationRepository.existsOverlapping(user.getId(), request.getTravelStartDate(), request.getTravelEndDate())) {
+            throw new MeetingException(ErrorCode.ALREADY_JOINED_DATE);
+        }
+
         // 모임 멤버 테이블에 추가하기
         MeetingMember meetingMember
                 = MeetingMember.builder()
@@ -189,8 +244,16 @@ public class MeetingService {
                 .build();
         meetingMemberRepository.save(meetingMember);
 
+        // 참여 기간은 하루씩이 아니라 기간 한 행으로 저장
+        tripParticipationRepository.save(TripParticipation.builder()
+                .user(user)
+                .meeting(meeting)
+                .startDate(request.getTravelStartDate())
+                .endDate(request.getTravelEndDate())
+                .build());
+
         // 채팅방에 참여
-        chatService.addUserToChat(meeting.getChatRoom().getRoomId(), user.getEmail());
+        chatService.addUserToChat(meeting.getChatRoom().getRoomId(), user.getId());
 
         ChatMessageDTO enterMessage = ChatMessageDTO.builder()
                     .roomId(meeting.getChatRoom().getRoomId())
@@ -199,40 +262,6 @@ public class MeetingService {
                     .build();
 
         chatService.sendSystemMessage(enterMessage);
-
-        if (request.getTravelStartDate().isAfter(request.getTravelEndDate())) {
-            throw new MeetingException(ErrorCode.INVALID_TRAVEL_DATE);
-        }
-
-        if (request.getTravelStartDate().isBefore(meeting.getTravelStartDate()) ||
-                request.getTravelStartDate().isAfter(meeting.getTravelEndDate())) {
-            throw new MeetingException(ErrorCode.INVALID_MEETING_TRAVEL_DATE);
-        }
-
-        if (request.getTravelEndDate().isBefore(meeting.getTravelStartDate()) ||
-                request.getTravelEndDate().isAfter(meeting.getTravelEndDate())) {
-            throw new MeetingException(ErrorCode.INVALID_MEETING_TRAVEL_DATE);
-        }
-
-        // 이미 어떠한 날에 참여하고 있는 경우 already joined
-        List<LocalDate> dailyParticipationEntities = dailyParticipationRepository.findParticipationDatesById(user.getId());
-        for (LocalDate date : dailyParticipationEntities) {
-            for (LocalDate travelDate = request.getTravelStartDate(); !travelDate.isAfter(request.getTravelEndDate()); date = date.plusDays(1)) {
-                if (date.equals(travelDate)) {
-                    throw new MeetingException(ErrorCode.ALREADY_JOINED_DATE);
-                }
-            }
-        }
-
-        // 부분 참여 테이블에 추가하기(시작일부터 마지막날까지 하루씩 추가)
-        for (LocalDate date = request.getTravelStartDate(); !date.isAfter(request.getTravelEndDate()); date = date.plusDays(1)) {
-            DailyParticipation dailyParticipation
-                    = DailyParticipation.builder()
-                    .user(user)
-                    .participationDate(date)
-                    .build();
-            dailyParticipationRepository.save(dailyParticipation);
-        }
     }
 
     // 모임 탈퇴
@@ -250,19 +279,14 @@ public class MeetingService {
             throw new RuntimeException("모임장은 모임에서 탈퇴할 수 없습니다.");
         }
 
-        List<LocalDate> participationDates = dailyParticipationRepository.findParticipationDatesById(user.getId());
-
-        for (LocalDate participationDate : participationDates) {
-            DailyParticipation dailyParticipation = dailyParticipationRepository.findByUserAndParticipationDateAndIsDeletedFalse(user, participationDate)
-                    .orElseThrow(() -> new RuntimeException("해당 날짜의 참여 데이터가 없습니다."));
-
-        dailyParticipationRepository.delete(dailyParticipation);
-        }
+        // 이 모임의 참여 기간만 삭제
+        tripParticipationRepository.deleteByMeetingAndUser(meetingId, user.getId());
 
         meetingMember.setIsRemoved(true);
         meetingMemberRepository.save(meetingMember);
+        eventPublisher.publishEvent(new ChatMembershipRevokedEvent(user.getId(), meeting.getMeetingId()));
 
-        chatService.removeUserFromChat(meeting.getChatRoom().getRoomId(), user.getEmail());
+        chatService.removeUserFromChat(meeting.getChatRoom().getRoomId(), user.getId());
 
         ChatMessageDTO outMessage = ChatMessageDTO.builder()
                     .roomId(meeting.getChatRoom().getRoomId())
@@ -291,22 +315,16 @@ public class MeetingService {
             throw new RuntimeException("모임장은 자신을 탈퇴시킬 수 없습니다.");
         }
 
-        // 부분참여 테이블에서도 삭제
-        List<LocalDate> participationDates = dailyParticipationRepository.findParticipationDatesById(member.getUser().getId());
-
-        for (LocalDate participationDate : participationDates) {
-            DailyParticipation dailyParticipation = dailyParticipationRepository.findByUserAndParticipationDateAndIsDeletedFalse(member.getUser(), participationDate)
-                    .orElseThrow(() -> new RuntimeException("해당 날짜의 참여 데이터가 없습니다."));
-
-            dailyParticipationRepository.delete(dailyParticipation);
-        }
+        // 이 모임의 참여 기간도 삭제
+        tripParticipationRepository.deleteByMeetingAndUser(meetingId, member.getUser().getId());
 
         // 탈퇴사유 확인 위해 상태변경으로 구현
         member.setRemoveReason(request.getReason());
         member.setIsRemoved(true);
         meetingMemberRepository.save(member);
+        eventPublisher.publishEvent(new ChatMembershipRevokedEvent(member.getUser().getId(), meeting.getMeetingId()));
       
-        chatService.removeUserFromChat(meeting.getChatRoom().getRoomId(), member.getUser().getEmail());
+        chatService.removeUserFromChat(meeting.getChatRoom().getRoomId(), member.getUser().getId());
 
             ChatMessageDTO outMessage = ChatMessageDTO.builder()
                     .roomId(meeting.getChatRoom().getRoomId())
@@ -318,9 +336,9 @@ public class MeetingService {
     }
 
     // 사용자 ID와 모임 제목으로 모임 검색
+    @Transactional(readOnly = true)
     public Page<MeetingResponse> searchMeetings(Long userId, String meetingTitle, int page, int size) {
         Pageable pageable = PageRequest.of(page, size);
-        Page<Meeting> meetings = meetingRepository.searchMeetingsByUserIdAndTitle(userId, meetingTitle, pageable);
-        return meetings.map(this::convertToDto);
+        return meetingRepository.searchMeetingsByUserIdAndTitle(userId, meetingTitle, pageable);
     }
 }
\ No newline at end of file
@@ -0,0 +1,317 @@
+package com.gbsb.tripmate.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gbsb.tripmate.dto.ChatMessageDTO;
+import com.gbsb.tripmate.store.ChatStore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.*;
+
+// 채팅방별 최근 메시지 링 버퍼
+// 채팅방 입장 시 저장소 조회 없이 최근 메시지를 보여주기 위한 용도로,
+// 전체 메모리 한도를 넘으면 가장 오래 사용되지 않은 채팅방부터 제거한다.
+@Slf4j
+@Component
+public class RecentMessageStore {
+
+    private static final String REDIS_KEY_PREFIX = "chat:recent:";
+    // DB 기록으로 앞부분을 채운 목록 표시, 메시지가 적은 채팅방의 짧은 목록도 완전한 것으로 본다
+    private static final String REDIS_SEEDED_PREFIX = "chat:recent:seeded:";
+
+    private final ChatStore chatStore;
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+
+    private final int capacity;
+    private final int maxRooms;
+    private final long maxBytes;
+    private final boolean redisMirror;
+    private final Duration redisTtl;
+
+    // access-order LinkedHashMap으로 LRU 관리
+    private final LinkedHashMap<Long, RoomBuffer> rooms = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+
+    private final Counter hits;
+    private final Counter misses;
+
+    public RecentMessageStore(ChatStore chatStore,
+                              StringRedisTemplate redisTemplate,
+                              ObjectMapper objectMapper,
+                              MeterRegistry meterRegistry,
+                              @Value("${chat.recent.size:50}") int capacity,
+                              @Value("${chat.recent.max-rooms:5000}") int maxRooms,
+                              @Value("${chat.recent.max-bytes:67108864}") long maxBytes,
+                              @Value("${chat.recent.redis-mirror:false}") boolean redisMirror,
+                              @Value("${chat.recent.redis-ttl-seconds:86400}") long redisTtlSeconds) {
+        this.chatStore = chatStore;
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.capacity = capacity;
+        this.maxRooms = maxRooms;
+        this.maxBytes = maxBytes;
+        this.redisMirror = redisMirror;
+        this.redisTtl = Duration.ofSeconds(redisTtlSeconds);
+
+        this.hits = Counter.builder("chat.recent.requests").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("chat.recent.requests").tag("result", "miss").register(meterRegistry);
+        Gauge.builder("chat.recent.rooms", this, store -> store.stats()[0]).register(meterRegistry);
+        Gauge.builder("chat.recent.bytes", this, store -> store.stats()[1]).register(meterRegistry);
+    }
+
+    public void append(ChatMessageDTO message) {
+        synchronized (this) {
+            RoomBuffer buffer = rooms.computeIfAbsent(message.getRoomId(), roomId -> new RoomBuffer(capacity));
+            totalBytes += buffer.add(message);
+            evictIfNeeded();
+        }
+
+        if (redisMirror) {
+            mirror(message);
+        }
+    }
+
+    // 최근 메시지를 오래된 순으로 반환
+    public List<ChatMessageDTO> recent(Long roomId, int limit) {
+        int size = Math.max(1, Math.min(limit, capacity));
+
+        // 여러 노드를 사용할 때는 모든 노드의 메시지가 모이는 Redis 목록을 우선 사용
+        if (redisMirror) {
+            List<ChatMessageDTO> mirrored = readMirror(roomId, size);
+            if (mirrored != null) {
+                hits.increment();
+                return mirrored;
+            }
+            misses.increment();
+            return seedMirror(roomId, size);
+        }
+
+        synchronized (this) {
+            RoomBuffer buffer = rooms.get(roomId);
+            if (buffer != null && buffer.seeded) {
+                hits.increment();
+                return buffer.tail(size);
+            }
+        }
+
+        misses.increment();
+        return seedFromDatabase(roomId, size, loadPersisted(roomId));
+    }
+
+    // afterSeq 이후 메시지를 seq 순으로 반환
+    // 버퍼가 afterSeq+1 부터 latestSeq 까지의 seq를 빠짐없이 담고 있지 않으면 null
+    // (redis 모드에서 미러를 끄면 노드 버퍼에는 다른 노드가 받은 메시지가 빠져 있다)
+    public List<ChatMessageDTO> since(Long roomId, long afterSeq, long latestSeq) {
+        TreeMap<Long, ChatMessageDTO> bySeq = new TreeMap<>();
+        for (ChatMessageDTO message : recent(roomId, capacity)) {
+            if (message.getSeq() != null && message.getSeq() > afterSeq) {
+                bySeq.putIfAbsent(message.getSeq(), message);
+            }
+        }
+
+        long expected = afterSeq + 1;
+        for (Long seq : bySeq.keySet()) {
+            if (seq != expected) {
+                return null;
+            }
+            expected++;
+        }
+        if (expected <= latestSeq) {
+            return null;
+        }
+        return new ArrayList<>(bySeq.values());
+    }
+
+    // ChatStore의 최근 메시지를 오래된 순으로 반환
+    private List<ChatMessageDTO> loadPersisted(Long roomId) {
+        List<ChatMessageDTO> persisted = new ArrayList<>(chatStore
+                .findHistory(roomId, Long.MAX_VALUE, capacity).stream()
+                .map(row -> ChatMessageDTO.builder()
+                        .id(row.getId())
+                        .roomId(row.getRoomId())
+                        .seq(row.getSeq())
+                        .writer(row.getWriter())
+                        .message(row.getMessage())
+                        .createdAt(row.getCreatedAt() == null ? null : row.getCreatedAt().toString())
+                        .build())
+                .toList());
+        Collections.reverse(persisted);
+        return persisted;
+    }
+
+    // 버퍼가 없거나 시작 이후의 메시지만 가지고 있으면 ChatStore의 최근 메시지와 합쳐 채운다
+    private List<ChatMessageDTO> seedFromDatabase(Long roomId, int size, List<ChatMessageDTO> persisted) {
+        synchronized (this) {
+            RoomBuffer existing = rooms.remove(roomId);
+            RoomBuffer seeded = new RoomBuffer(capacity);
+            Set<Long> persistedIds = new HashSet<>();
+            for (ChatMessageDTO message : persisted) {
+                persistedIds.add(message.getId());
+                seeded.add(message);
+            }
+            if (existing != null) {
+                totalBytes -= existing.bytes;
+                // 아직 저장되지 않은 메시지(write-behind 대기)와 시스템 메시지는 버퍼 쪽을 유지
+                for (ChatMessageDTO message : existing.tail(capacity)) {
+                    if (message.getId() == null || !persistedIds.contains(message.getId())) {
+                        seeded.add(message);
+                    }
+                }
+            }
+            seeded.seeded = true;
+            rooms.put(roomId, seeded);
+            totalBytes += seeded.bytes;
+            evictIfNeeded();
+            return seeded.tail(size);
+        }
+    }
+
+    private void evictIfNeeded() {
+        Iterator<Map.Entry<Long, RoomBuffer>> iterator = rooms.entrySet().iterator();
+        while ((totalBytes > maxBytes || rooms.size() > maxRooms) && iterator.hasNext()) {
+            totalBytes -= iterator.next().getValue().bytes;
+            iterator.remove();
+        }
+    }
+
+    private void mirror(ChatMessageDTO message) {
+        String key = REDIS_KEY_PREFIX + message.getRoomId();
+        try {
+            redisTemplate.opsForList().rightPush(key, objectMapper.writeValueAsString(message));
+            redisTemplate.opsForList().trim(key, -capacity, -1);
+            redisTemplate.expire(key, redisTtl);
+            // 목록과 표시 키가 함께 만료되도록 같이 연장
+            redisTemplate.expire(REDIS_SEEDED_PREFIX + message.getRoomId(), redisTtl);
+        } catch (Exception e) {
+            log.warn("Failed to mirror recent message of room {}: {}", message.getRoomId(), e.getMessage());
+        }
+    }
+
+    // Redis 목록이 없거나, DB로 채운 적 없이 요청 개수보다 짧거나, 읽기에 실패하면 null
+    private List<ChatMessageDTO> readMirror(Long roomId, int size) {
+        try {
+            List<String> values = redisTemplate.opsForList().range(REDIS_KEY_PREFIX + roomId, -size, -1);
+            if (values == null || values.isEmpty()) {
+                return null;
+            }
+            // 노드 시작 이후 메시지만 모인 목록일 수 있으므로 짧은 목록은 DB로 채운 경우에만 사용
+            if (values.size() < size && !Boolean.TRUE.equals(redisTemplate.hasKey(REDIS_SEEDED_PREFIX + roomId))) {
+                return null;
+            }
+            return parse(values);
+        } catch (Exception e) {
+            log.warn("Failed to read recent messages of room {} from redis: {}", roomId, e.getMessage());
+            return null;
+        }
+    }
+
+    // Redis 목록 앞쪽에 목록의 가장 오래된 메시지보다 이전인 DB 기록을 채운다
+    // 채우는 동안 다른 노드가 뒤에 추가하는 메시지와는 겹치지 않고, 표시 키로 한 노드만 채운다
+    private List<ChatMessageDTO> seedMirror(Long roomId, int size) {
+        List<ChatMessageDTO> persisted = loadPersisted(roomId);
+        String key = REDIS_KEY_PREFIX + roomId;
+        String seededKey = REDIS_SEEDED_PREFIX + roomId;
+        try {
+            if (Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(seededKey, "1", redisTtl))) {
+                try {
+                    // DB를 먼저 읽었으므로 그 사이 저장된 메시지는 이미 목록에 미러링되어 있다
+                    List<String> current = redisTemplate.opsForList().range(key, 0, -1);
+                    long oldest = Long.MAX_VALUE;
+                    for (ChatMessageDTO message : parse(current == null ? List.of() : current)) {
+                        if (message.getSeq() != null) {
+                            oldest = Math.min(oldest, message.getSeq());
+                        }
+                    }
+
+                    List<String> older = new ArrayList<>();
+                    for (ChatMessageDTO message : persisted) {
+                        if (message.getSeq() != null && message.getSeq() < oldest) {
+                            older.add(objectMapper.writeValueAsString(message));
+                        }
+                    }
+                    if (!older.isEmpty()) {
+                        Collections.reverse(older);
+                        redisTemplate.opsForList().leftPushAll(key, older);
+                        redisTemplate.opsForList().trim(key, -capacity, -1);
+                        redisTemplate.expire(key, redisTtl);
+                    }
+                } catch (Exception e) {
+                    redisTemplate.delete(seededKey);
+                    throw e;
+                }
+            }
+
+            List<ChatMessageDTO> mirrored = readMirror(roomId, size);
+            if (mirrored != null) {
+                return mirrored;
+            }
+        } catch (Exception e) {
+            log.warn("Failed to seed recent messages of room {} in redis: {}", roomId, e.getMessage());
+        }
+        // 메시지가 없는 채팅방이거나 Redis를 사용할 수 없으면 이 노드의 버퍼로 응답
+        return seedFromDatabase(roomId, size, persisted);
+    }
+
+    private List<ChatMessageDTO> parse(List<String> values) throws IOException {
+        List<ChatMessageDTO> messages = new ArrayList<>(values.size());
+        for (String value : values) {
+            messages.add(objectMapper.readValue(value, ChatMessageDTO.class));
+        }
+        return messages;
+    }
+
+    private synchronized long[] stats() {
+        return new long[]{rooms.size(), totalBytes};
+    }
+
+    private static class RoomBuffer {
+        private final ChatMessageDTO[] messages;
+        private int next;
+        private int count;
+        private long bytes;
+        private boolean seeded;
+
+        RoomBuffer(int capacity) {
+            this.messages = new ChatMessageDTO[capacity];
+        }
+
+        // 추가 후 증가한 바이트 수 반환 (덮어쓴 메시지 크기 반영)
+        long add(ChatMessageDTO message) {
+            long delta = estimateSize(message);
+            ChatMessageDTO overwritten = messages[next];
+            if (overwritten != null) {
+                delta -= estimateSize(overwritten);
+            }
+            messages[next] = message;
+            next = (next + 1) % messages.length;
+            count = Math.min(count + 1, messages.length);
+            bytes += delta;
+            return delta;
+        }
+
+        List<ChatMessageDTO> tail(int size) {
+            int n = Math.min(size, count);
+            List<ChatMessageDTO> result = new ArrayList<>(n);
+            for (int i = n; i > 0; i--) {
+                result.add(messages[Math.floorMod(next - i, messages.length)]);
+            }
+            return result;
+        }
+
+        private static long estimateSize(ChatMessageDTO message) {
+            return 96L + 2L * (length(message.getWriter()) + length(message.getMessage()) + length(message.getCreatedAt()));
+        }
+
+        private static int length(String value) {
+            return value == null ? 0 : value.length();
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.gbsb.tripmate.service;
+
+import com.gbsb.tripmate.store.ChatStore;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 여러 노드용 순번 (chat.broker.mode=redis)
+// 같은 채팅방의 메시지가 여러 노드로 들어와도 순번이 겹치지 않도록 채팅방별 Redis 키를 INCR 한다.
+// 키가 없으면(처음 사용, Redis 재시작) ChatStore의 최대 seq와 이 노드가 마지막으로 받은 순번 중 큰 값으로 시작한다.
+@Component
+@ConditionalOnProperty(name = "chat.broker.mode", havingValue = "redis")
+@RequiredArgsConstructor
+public class RedisRoomSequencer implements RoomSequencer {
+
+    private static final String KEY_PREFIX = "chat-seq:";
+    private static final String UNKNOWN = "-1";
+
+    // 키가 없을 때 시작값이 주어지면 그 값으로 만든 뒤 INCR, 주어지지 않으면 -1
+    private static final RedisScript<Long> NEXT_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[1]) == 0 then " +
+            "  if ARGV[1] == '-1' then return -1 end " +
+            "  redis.call('SET', KEYS[1], ARGV[1]) " +
+            "end " +
+            "return redis.call('INCR', KEYS[1])", Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final ChatStore chatStore;
+
+    // 이 노드가 채팅방별로 마지막으로 받은 순번 (write-behind로 아직 저장되지 않은 메시지가 있어도 되돌아가지 않도록)
+    private final ConcurrentHashMap<Long, Long> lastIssued = new ConcurrentHashMap<>();
+
+    @Override
+    public long next(Long roomId) {
+        List<String> keys = List.of(KEY_PREFIX + roomId);
+        Long next = redisTemplate.execute(NEXT_SCRIPT, keys, UNKNOWN);
+        if (next == null || next < 0) {
+            next = redisTemplate.execute(NEXT_SCRIPT, keys, String.valueOf(seed(roomId)));
+        }
+        if (next == null) {
+            throw new IllegalStateException("Failed to allocate chat seq of room " + roomId);
+        }
+        lastIssued.merge(roomId, next, Math::max);
+        return next;
+    }
+
+    @Override
+    public long current(Long roomId) {
+        String value = redisTemplate.opsForValue().get(KEY_PREFIX + roomId);
+        return value == null ? seed(roomId) : Long.parseLong(value);
+    }
+
+    private long seed(Long roomId) {
+        return Math.max(chatStore.maxSeq(roomId), lastIssued.getOrDefault(roomId, 0L));
+    }
+}
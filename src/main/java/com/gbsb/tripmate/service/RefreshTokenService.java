@@ -0,0 +1,199 @@
+package com.gbsb.tripmate.service;
+
+import com.gbsb.tripmate.enums.ErrorCode;
+import com.gbsb.tripmate.exception.MeetingException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 리프레시 토큰 발급/교체
+// 토큰 형식: {familyId}.{random}, Redis에는 토큰 해시만 저장한다.
+// 한 family에서는 가장 최근에 발급한 토큰만 유효하며, 이미 교체된 토큰이 다시 사용되면 family 전체를 폐기한다.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RefreshTokenService {
+
+    private static final String FAMILY_KEY_PREFIX = "refresh-family:";
+    private static final String FIELD_CURRENT = "current";
+    private static final String FIELD_USER_ID = "userId";
+    private static final String FIELD_EMAIL = "email";
+    private static final String FIELD_NICKNAME = "nickname";
+    private static final String FIELD_TOKEN_VERSION = "tokenVersion";
+
+    private static final long ROTATED = 1L;
+    private static final long REUSED = -1L;
+
+    // 현재 토큰 해시와 일치할 때만 교체, 불일치(재사용)면 family 삭제
+    private static final RedisScript<Long> ROTATE_SCRIPT = new DefaultRedisScript<>(
+            "local current = redis.call('HGET', KEYS[1], 'current') " +
+            "if not current then return 0 end " +
+            "if current ~= ARGV[1] then redis.call('DEL', KEYS[1]) return -1 end " +
+            "redis.call('HSET', KEYS[1], 'current', ARGV[2]) " +
+            "redis.call('PEXPIRE', KEYS[1], ARGV[3]) " +
+            "return 1", Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final TokenVersionService tokenVersionService;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    @Value("${cache.redis.enabled:true}")
+    private boolean redisEnabled;
+
+    @Value("${jwt.refresh-expiration:1209600000}")
+    private long refreshExpiration;
+
+    // Redis를 사용하지 않을 때의 저장소
+    private final Map<String, LocalFamily> localFamilies = new ConcurrentHashMap<>();
+
+    // 로그인 시 새 family 생성
+    public String issue(Long userId, String email, String nickname, long tokenVersion) {
+        String familyId = UUID.randomUUID().toString();
+        String token = familyId + "." + randomSecret();
+        RefreshSession session = new RefreshSession(userId, email, nickname, tokenVersion);
+
+        if (redisEnabled) {
+            String key = FAMILY_KEY_PREFIX + familyId;
+            Map<String, String> fields = new HashMap<>();
+            fields.put(FIELD_CURRENT, hash(token));
+            fields.put(FIELD_USER_ID, String.valueOf(userId));
+            fields.put(FIELD_EMAIL, email);
+            fields.put(FIELD_NICKNAME, nickname);
+            fields.put(FIELD_TOKEN_VERSION, String.valueOf(tokenVersion));
+            redisTemplate.opsForHash().putAll(key, fields);
+            redisTemplate.expire(key, Duration.ofMillis(refreshExpiration));
+        } else {
+            localFamilies.put(familyId, new LocalFamily(hash(token), session,
+                    System.currentTimeMillis() + refreshExpiration));
+        }
+        return token;
+    }
+
+    // 리프레시 토큰을 새 토큰으로 교체하고 세션 정보를 반환
+    public Rotation rotate(String refreshToken) {
+        int separator = refreshToken.indexOf('.');
+        if (separator <= 0) {
+            throw new MeetingException(ErrorCode.INVALID_REFRESH_TOKEN);
+        }
+        String familyId = refreshToken.substring(0, separator);
+        String nextToken = familyId + "." + randomSecret();
+
+        RefreshSession session = redisEnabled
+                ? rotateInRedis(familyId, hash(refreshToken), hash(nextToken))
+                : rotateLocally(familyId, hash(refreshToken), hash(nextToken));
+
+        // 프로필 변경 등으로 폐기된 사용자의 토큰은 갱신하지 않는다
+        if (session.getTokenVersion() < tokenVersionService.currentVersion(session.getUserId())) {
+            revokeFamily(familyId);
+            throw new MeetingException(ErrorCode.INVALID_REFRESH_TOKEN);
+        }
+        return new Rotation(nextToken, session);
+    }
+
+    public void revokeFamily(String familyId) {
+        if (redisEnabled) {
+            redisTemplate.delete(FAMILY_KEY_PREFIX + familyId);
+        } else {
+            localFamilies.remove(familyId);
+        }
+    }
+
+    private RefreshSession rotateInRedis(String familyId, String presentedHash, String nextHash) {
+        String key = FAMILY_KEY_PREFIX + familyId;
+        Long result = redisTemplate.execute(ROTATE_SCRIPT, List.of(key),
+                presentedHash, nextHash, String.valueOf(refreshExpiration));
+
+        if (result == null || result != ROTATED) {
+            if (result != null && result == REUSED) {
+                log.warn("Refresh token reuse detected, family {} revoked", familyId);
+            }
+            throw new MeetingException(ErrorCode.INVALID_REFRESH_TOKEN);
+        }
+
+        List<Object> values = redisTemplate.opsForHash().multiGet(key,
+                List.of(FIELD_USER_ID, FIELD_EMAIL, FIELD_NICKNAME, FIELD_TOKEN_VERSION));
+        if (values.stream().anyMatch(Objects::isNull)) {
+            throw new MeetingException(ErrorCode.INVALID_REFRESH_TOKEN);
+        }
+        return new RefreshSession(
+                Long.valueOf((String) values.get(0)),
+                (String) values.get(1),
+                (String) values.get(2),
+                Long.parseLong((String) values.get(3)));
+    }
+
+    private RefreshSession rotateLocally(String familyId, String presentedHash, String nextHash) {
+        long now = System.currentTimeMillis();
+        boolean[] reused = new boolean[1];
+        LocalFamily rotated = localFamilies.computeIfPresent(familyId, (id, family) -> {
+            if (family.expiresAt < now) {
+                return null;
+            }
+            if (!family.currentHash.equals(presentedHash)) {
+                reused[0] = true;
+                return null;
+            }
+            return new LocalFamily(nextHash, family.session, now + refreshExpiration);
+        });
+
+        if (rotated == null) {
+            if (reused[0]) {
+                log.warn("Refresh token reuse detected, family {} revoked", familyId);
+            }
+            throw new MeetingException(ErrorCode.INVALID_REFRESH_TOKEN);
+        }
+        return rotated.session;
+    }
+
+    private String randomSecret() {
+        byte[] bytes = new byte[32];
+        secureRandom.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    private String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class RefreshSession {
+        private final Long userId;
+        private final String email;
+        private final String nickname;
+        private final long tokenVersion;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Rotation {
+        private final String refreshToken;
+        private final RefreshSession session;
+    }
+
+    @AllArgsConstructor
+    private static class LocalFamily {
+        private final String currentHash;
+        private final RefreshSession session;
+        private final long expiresAt;
+    }
+}
@@ -0,0 +1,11 @@
+package com.gbsb.tripmate.service;
+
+// 채팅방별 메시지 순번 (1씩 증가, 재연결 시 누락 구간 확인용)
+// chat.broker.mode=simple 이면 노드 안의 카운터(LocalRoomSequencer), redis 이면 모든 노드가 공유하는 Redis 카운터(RedisRoomSequencer)
+public interface RoomSequencer {
+
+    long next(Long roomId);
+
+    // 마지막으로 부여한 순번 (메시지가 없으면 0)
+    long current(Long roomId);
+}
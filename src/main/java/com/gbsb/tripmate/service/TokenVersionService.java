@@ -0,0 +1,108 @@
+package com.gbsb.tripmate.service;
+
+import com.gbsb.tripmate.exception.TokenVersionUnavailableException;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 사용자별 토큰 버전 관리
+// 토큰의 ver 클레임이 현재 버전보다 작으면 폐기된 토큰으로 취급한다.
+// 버전을 확인하거나 올릴 수 없으면 폐기된 토큰이 통과하지 않도록 예외로 실패시킨다.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TokenVersionService {
+
+    private static final String KEY_PREFIX = "token-version:";
+
+    private final StringRedisTemplate redisTemplate;
+
+    @Value("${cache.redis.enabled:true}")
+    private boolean redisEnabled;
+
+    @Value("${jwt.token-version.cache-size:100000}")
+    private long cacheSize;
+
+    @Value("${jwt.token-version.cache-ttl-seconds:30}")
+    private long cacheTtlSeconds;
+
+    // Redis를 사용하지 않을 때의 저장소
+    private final Map<Long, Long> localVersions = new ConcurrentHashMap<>();
+
+    private LoadingCache<Long, Long> versions;
+
+    @PostConstruct
+    void init() {
+        versions = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .refreshAfterWrite(Duration.ofSeconds(cacheTtlSeconds))
+                .build(new CacheLoader<Long, Long>() {
+                    // 처음 읽을 때 실패하면 0으로 간주하지 않고 예외를 던져 토큰을 거부한다
+                    @Override
+                    public Long load(Long userId) {
+                        try {
+                            return fetch(userId);
+                        } catch (Exception e) {
+                            log.warn("Failed to load token version of user {}: {}", userId, e.getMessage());
+                            throw new TokenVersionUnavailableException("Failed to load token version of user " + userId, e);
+                        }
+                    }
+
+                    // refresh 실패 시에는 이미 확인한 이전 값을 유지한다
+                    @Override
+                    public Long reload(Long userId, Long oldValue) {
+                        try {
+                            return fetch(userId);
+                        } catch (Exception e) {
+                            log.warn("Failed to refresh token version of user {}: {}", userId, e.getMessage());
+                            return oldValue;
+                        }
+                    }
+                });
+    }
+
+    public long currentVersion(Long userId) {
+        return versions.get(userId);
+    }
+
+    // 해당 사용자에게 발급된 기존 토큰을 모두 폐기
+    // 폐기하지 못하면 예외를 던져 호출한 트랜잭션(비밀번호 변경 등)도 함께 실패시킨다
+    public long revoke(Long userId) {
+        long next;
+        if (redisEnabled) {
+            Long incremented;
+            try {
+                incremented = redisTemplate.opsForValue().increment(KEY_PREFIX + userId);
+            } catch (Exception e) {
+                log.error("Failed to revoke tokens of user {}", userId, e);
+                throw new TokenVersionUnavailableException("Failed to revoke tokens of user " + userId, e);
+            }
+            if (incremented == null) {
+                throw new TokenVersionUnavailableException("Failed to revoke tokens of user " + userId, null);
+            }
+            next = incremented;
+        } else {
+            next = localVersions.merge(userId, 1L, Long::sum);
+        }
+        versions.put(userId, next);
+        return next;
+    }
+
+    private long fetch(Long userId) {
+        if (!redisEnabled) {
+            return localVersions.getOrDefault(userId, 0L);
+        }
+        String value = redisTemplate.opsForValue().get(KEY_PREFIX + userId);
+        return value == null ? 0L : Long.parseLong(value);
+    }
+}
@@ -0,0 +1,325 @@
+package com.gbsb.tripmate.service;
+
+import com.gbsb.tripmate.dto.UnreadCountResponse;
+import com.gbsb.tripmate.enums.ErrorCode;
+import com.gbsb.tripmate.event.ChatPersistedEvent;
+import com.gbsb.tripmate.exception.MeetingException;
+import com.gbsb.tripmate.repository.ChatRoomParticipantRepository;
+import com.gbsb.tripmate.store.ChatEntry;
+import com.gbsb.tripmate.store.ChatStore;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.util.*;
+
+// 채팅방별 안 읽은 메시지 수
+// 읽음 커서(chatroom_participants.last_read_message_id)가 기준이고,
+// Redis 해시 chat:unread:{userId} (필드: roomId, 값: 안 읽은 수)를 메시지 저장 시점마다 증가시켜 한 번의 조회로 응답한다.
+// 해시에 완성 표시 필드가 없으면(만료, 재시작, 부분 생성) 읽음 커서와 ChatStore로 다시 만들고, 주기적으로 같은 기준으로 보정한다.
+// 해시는 쓸 때마다 만료 시간을 연장하고, 보정은 Redis 잠금을 잡은 한 노드만 주기마다 한 번 실행한다.
+@Slf4j
+@Service
+public class UnreadCountService {
+
+    private static final String KEY_PREFIX = "chat:unread:";
+    private static final String COMPLETE_FIELD = "_";
+    private static final String RECONCILE_LOCK_KEY = "chat:unread-reconcile:lock";
+    private static final String RECONCILE_CURSOR_KEY = "chat:unread-reconcile:cursor";
+
+    private final ChatRoomParticipantRepository participantRepository;
+    private final ChatStore chatStore;
+    private final JdbcTemplate jdbcTemplate;
+    private final StringRedisTemplate redisTemplate;
+    private final boolean redisEnabled;
+    private final Duration redisTtl;
+    private final int reconcileBatchSize;
+    private final Duration reconcileInterval;
+
+    // 채팅방 참여자 id (메시지마다 참여자를 조회하지 않도록)
+    private final Cache<Long, List<Long>> roomMembers;
+
+    private final Counter rebuilds;
+    private final Counter drift;
+
+    public UnreadCountService(ChatRoomParticipantRepository participantRepository,
+                              ChatStore chatStore,
+                              JdbcTemplate jdbcTemplate,
+                              StringRedisTemplate redisTemplate,
+                              MeterRegistry meterRegistry,
+                              @Value("${cache.redis.enabled:true}") boolean redisEnabled,
+                              @Value("${chat.unread.redis-ttl-seconds:604800}") long redisTtlSeconds,
+                              @Value("${chat.unread.reconcile-batch-size:500}") int reconcileBatchSize,
+                              @Value("${chat.unread.reconcile-interval-ms:60000}") long reconcileIntervalMillis,
+                              @Value("${chat.unread.member-cache-ttl-seconds:60}") long memberCacheTtlSeconds) {
+        this.participantRepository = participantRepository;
+        this.chatStore = chatStore;
+        this.jdbcTemplate = jdbcTemplate;
+        this.redisTemplate = redisTemplate;
+        this.redisEnabled = redisEnabled;
+        this.redisTtl = Duration.ofSeconds(redisTtlSeconds);
+        this.reconcileBatchSize = reconcileBatchSize;
+        this.reconcileInterval = Duration.ofMillis(reconcileIntervalMillis);
+        this.roomMembers = Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .expireAfterWrite(Duration.ofSeconds(memberCacheTtlSeconds))
+                .build();
+
+        this.rebuilds = Counter.builder("chat.unread.rebuild").register(meterRegistry);
+        this.drift = Counter.builder("chat.unread.reconcile.drift").register(meterRegistry);
+    }
+
+    // 사용자가 참여 중인 모든 채팅방의 안 읽은 수
+    public List<UnreadCountResponse> getUnreadCounts(Long userId) {
+        if (!redisEnabled) {
+            return toResponses(loadCounts(List.of(userId)).getOrDefault(userId, Map.of()));
+        }
+
+        Map<Object, Object> entries;
+        try {
+            entries = redisTemplate.opsForHash().entries(KEY_PREFIX + userId);
+        } catch (Exception e) {
+            log.warn("Failed to read unread counts of user {}: {}", userId, e.getMessage());
+            return toResponses(loadCounts(List.of(userId)).getOrDefault(userId, Map.of()));
+        }
+
+        if (entries.containsKey(COMPLETE_FIELD)) {
+            Map<Long, Long> counts = new HashMap<>();
+            entries.forEach((field, value) -> {
+                if (!COMPLETE_FIELD.equals(field)) {
+                    counts.put(Long.valueOf((String) field), Math.max(0L, Long.parseLong((String) value)));
+                }
+            });
+            return toResponses(counts);
+        }
+
+        rebuilds.increment();
+        Map<Long, Long> counts = loadCounts(List.of(userId)).getOrDefault(userId, Map.of());
+        writeCounts(Map.of(userId, counts));
+        return toResponses(counts);
+    }
+
+    // 읽음 커서를 messageId까지 이동하고 해당 채팅방의 안 읽은 수를 다시 센다
+    @Transactional
+    public long markRead(Long userId, Long roomId, long messageId) {
+        participantRepository.advanceReadCursor(roomId, userId, messageId);
+        Long cursor = participantRepository.findReadCursor(roomId, userId);
+        if (cursor == null) {
+            throw new MeetingException(ErrorCode.USER_NOT_A_MEMBER_OF_MEETING);
+        }
+
+        long unread = chatStore.countAfter(roomId, cursor);
+        if (redisEnabled) {
+            try {
+                redisTemplate.opsForHash().put(KEY_PREFIX + userId, String.valueOf(roomId), String.valueOf(unread));
+                redisTemplate.expire(KEY_PREFIX + userId, redisTtl);
+            } catch (Exception e) {
+                log.warn("Failed to update unread count of user {} in room {}: {}", userId, roomId, e.getMessage());
+            }
+        }
+        return unread;
+    }
+
+    public void onJoined(Long roomId, Long userId) {
+        roomMembers.invalidate(roomId);
+        if (redisEnabled) {
+            try {
+                redisTemplate.opsForHash().put(KEY_PREFIX + userId, String.valueOf(roomId), "0");
+                redisTemplate.expire(KEY_PREFIX + userId, redisTtl);
+            } catch (Exception e) {
+                log.warn("Failed to add unread counter of user {} in room {}: {}", userId, roomId, e.getMessage());
+            }
+        }
+    }
+
+    public void onLeft(Long roomId, Long userId) {
+        roomMembers.invalidate(roomId);
+        if (redisEnabled) {
+            try {
+                redisTemplate.opsForHash().delete(KEY_PREFIX + userId, String.valueOf(roomId));
+            } catch (Exception e) {
+                log.warn("Failed to remove unread counter of user {} in room {}: {}", userId, roomId, e.getMessage());
+            }
+        }
+    }
+
+    // ChatStore가 메시지를 저장한 뒤 (저장 스레드에서) 호출
+    // 다른 참여자는 채팅방 메시지 수만큼 증가, 작성자는 자기 마지막 메시지까지 읽은 것으로 커서를 옮긴다
+    @EventListener
+    public void onPersisted(ChatPersistedEvent event) {
+        List<ChatEntry> batch = event.getEntries();
+        Map<Long, List<ChatEntry>> byRoom = new LinkedHashMap<>();
+        for (ChatEntry chat : batch) {
+            byRoom.computeIfAbsent(chat.getRoomId(), roomId -> new ArrayList<>()).add(chat);
+        }
+
+        List<Object[]> cursorUpdates = new ArrayList<>();
+        Map<String, Map<String, Long>> increments = new HashMap<>();
+        Map<String, Map<String, Long>> resets = new HashMap<>();
+
+        byRoom.forEach((roomId, chats) -> {
+            // 작성자별 배치 내 마지막 메시지 위치
+            Map<Long, Integer> lastWritten = new HashMap<>();
+            for (int i = 0; i < chats.size(); i++) {
+                if (chats.get(i).getWriterId() != null) {
+                    lastWritten.put(chats.get(i).getWriterId(), i);
+                }
+            }
+
+            String field = String.valueOf(roomId);
+            for (Long memberId : members(roomId)) {
+                Integer last = lastWritten.get(memberId);
+                String key = KEY_PREFIX + memberId;
+                if (last == null) {
+                    increments.computeIfAbsent(key, k -> new HashMap<>()).put(field, (long) chats.size());
+                } else {
+                    long lastId = chats.get(last).getId();
+                    cursorUpdates.add(new Object[]{lastId, roomId, memberId, lastId});
+                    resets.computeIfAbsent(key, k -> new HashMap<>()).put(field, (long) (chats.size() - last - 1));
+                }
+            }
+        });
+
+        if (!cursorUpdates.isEmpty()) {
+            jdbcTemplate.batchUpdate("UPDATE chatroom_participants SET last_read_message_id = ? " +
+                    "WHERE chatroom_id = ? AND user_id = ? AND last_read_message_id < ?", cursorUpdates);
+        }
+
+        if (redisEnabled && !(increments.isEmpty() && resets.isEmpty())) {
+            try {
+                redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                    StringRedisConnection redis = (StringRedisConnection) connection;
+                    increments.forEach((key, fields) -> fields.forEach((field, delta) -> redis.hIncrBy(key, field, delta)));
+                    resets.forEach((key, fields) -> fields.forEach((field, value) -> redis.hSet(key, field, String.valueOf(value))));
+                    // 완성 표시 없이 새로 생긴 해시도 남지 않도록 만료 시간 설정
+                    Set<String> keys = new HashSet<>(increments.keySet());
+                    keys.addAll(resets.keySet());
+                    keys.forEach(key -> redis.expire(key, redisTtl.getSeconds()));
+                    return null;
+                });
+            } catch (Exception e) {
+                // 다음 보정 때 다시 맞춰진다
+                log.warn("Failed to update unread counters for {} messages: {}", batch.size(), e.getMessage());
+            }
+        }
+    }
+
+    // 읽음 커서와 ChatStore 기준으로 Redis 카운터 보정 (user_id 순으로 reconcile-batch-size 명씩 순환)
+    // 조회와 덮어쓰기 사이에 저장된 메시지는 반영되지 않을 수 있으나 다음 순환에서 다시 맞춰진다
+    // 모든 노드에서 스케줄되지만 주기 길이만큼 유지되는 잠금을 잡은 노드만 실행하고, 순환 위치는 Redis에 둔다
+    @Scheduled(fixedDelayString = "${chat.unread.reconcile-interval-ms:60000}",
+            initialDelayString = "${chat.unread.reconcile-interval-ms:60000}")
+    public void reconcile() {
+        if (!redisEnabled) {
+            return;
+        }
+
+        List<Long> userIds;
+        try {
+            Boolean acquired = redisTemplate.opsForValue().setIfAbsent(RECONCILE_LOCK_KEY, "1", reconcileInterval);
+            if (!Boolean.TRUE.equals(acquired)) {
+                return;
+            }
+            String cursor = redisTemplate.opsForValue().get(RECONCILE_CURSOR_KEY);
+            userIds = participantRepository.findUserIdsAfter(cursor == null ? 0L : Long.parseLong(cursor),
+                    PageRequest.of(0, reconcileBatchSize));
+            long next = userIds.size() < reconcileBatchSize ? 0L : userIds.get(userIds.size() - 1);
+            redisTemplate.opsForValue().set(RECONCILE_CURSOR_KEY, String.valueOf(next));
+        } catch (Exception e) {
+            log.warn("Failed to start unread counter reconcile: {}", e.getMessage());
+            return;
+        }
+        if (userIds.isEmpty()) {
+            return;
+        }
+
+        try {
+            Map<Long, Map<Long, Long>> expected = loadCounts(userIds);
+            List<Object> current = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection redis = (StringRedisConnection) connection;
+                userIds.forEach(userId -> redis.hGetAll(KEY_PREFIX + userId));
+                return null;
+            });
+
+            Map<Long, Map<Long, Long>> corrected = new HashMap<>();
+            for (int i = 0; i < userIds.size(); i++) {
+                Long userId = userIds.get(i);
+                Map<Long, Long> counts = expected.getOrDefault(userId, Map.of());
+                if (!matches(counts, current.get(i))) {
+                    corrected.put(userId, counts);
+                }
+            }
+
+            if (!corrected.isEmpty()) {
+                drift.increment(corrected.size());
+                writeCounts(corrected);
+            }
+        } catch (Exception e) {
+            log.warn("Failed to reconcile unread counters of {} users: {}", userIds.size(), e.getMessage());
+        }
+    }
+
+    private List<Long> members(Long roomId) {
+        return roomMembers.get(roomId, participantRepository::findUserIds);
+    }
+
+    // userId -> (roomId -> 안 읽은 수), 메시지가 없는 채팅방도 0으로 포함
+    private Map<Long, Map<Long, Long>> loadCounts(Collection<Long> userIds) {
+        return chatStore.countUnread(userIds);
+    }
+
+    // 해시 전체를 교체하고 완성 표시 필드를 남긴다
+    private void writeCounts(Map<Long, Map<Long, Long>> countsByUser) {
+        try {
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection redis = (StringRedisConnection) connection;
+                countsByUser.forEach((userId, counts) -> {
+                    String key = KEY_PREFIX + userId;
+                    Map<String, String> fields = new HashMap<>();
+                    counts.forEach((roomId, count) -> fields.put(String.valueOf(roomId), String.valueOf(count)));
+                    fields.put(COMPLETE_FIELD, "1");
+                    redis.del(key);
+                    redis.hMSet(key, fields);
+                    redis.expire(key, redisTtl.getSeconds());
+                });
+                return null;
+            });
+        } catch (Exception e) {
+            log.warn("Failed to write unread counters of {} users: {}", countsByUser.size(), e.getMessage());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private boolean matches(Map<Long, Long> expected, Object current) {
+        if (!(current instanceof Map<?, ?> entries) || !entries.containsKey(COMPLETE_FIELD)
+                || entries.size() != expected.size() + 1) {
+            return false;
+        }
+        for (Map.Entry<Long, Long> entry : expected.entrySet()) {
+            Object value = ((Map<Object, Object>) entries).get(String.valueOf(entry.getKey()));
+            if (value == null || Long.parseLong(value.toString()) != entry.getValue()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private List<UnreadCountResponse> toResponses(Map<Long, Long> counts) {
+        List<UnreadCountResponse> responses = new ArrayList<>(counts.size());
+        new TreeMap<>(counts).forEach((roomId, count) -> responses.add(new UnreadCountResponse(roomId, count)));
+        return responses;
+    }
+}
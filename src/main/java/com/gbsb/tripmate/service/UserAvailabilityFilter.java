@@ -0,0 +1,199 @@
+package com.gbsb.tripmate.service;
+
+import com.gbsb.tripmate.repository.UserRepository;
+import com.gbsb.tripmate.util.BloomFilter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+// 이메일/닉네임 중복 확인 앞단의 Bloom filter
+// 필터에 없으면 DB 조회 없이 사용 가능으로 판단하고, 있을 수도 있을 때만 DB를 조회한다.
+// 필터는 노드마다 따로 있으므로 가입/수정으로 추가된 값은 Redis pub/sub으로 모든 노드에 반영한다.
+@Slf4j
+@Component
+public class UserAvailabilityFilter {
+
+    private static final String ADD_CHANNEL = "user-availability:add";
+    private static final String EMAIL = "email:";
+    private static final String NICKNAME = "nickname:";
+
+    private final UserRepository userRepository;
+    private final StringRedisTemplate redisTemplate;
+    private final boolean redisEnabled;
+    private final TransactionTemplate readOnlyTransaction;
+    private final long expectedInsertions;
+    private final double fpp;
+
+    // 빌드 전에는 null (항상 DB 조회)
+    private volatile Filters active;
+    // 재빌드 중 추가되는 값을 새 필터에도 반영
+    private volatile Filters pending;
+
+    public UserAvailabilityFilter(UserRepository userRepository,
+                                  PlatformTransactionManager transactionManager,
+                                  MeterRegistry meterRegistry,
+                                  StringRedisTemplate redisTemplate,
+                                  ObjectProvider<RedisMessageListenerContainer> listenerContainer,
+                                  @Value("${cache.redis.enabled:true}") boolean redisEnabled,
+                                  @Value("${user.availability-filter.expected-insertions:1000000}") long expectedInsertions,
+                                  @Value("${user.availability-filter.fpp:0.01}") double fpp) {
+        this.userRepository = userRepository;
+        this.redisTemplate = redisTemplate;
+        this.redisEnabled = redisEnabled;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.expectedInsertions = expectedInsertions;
+        this.fpp = fpp;
+
+        Gauge.builder("user.availability.filter.fpp", this, filter -> filter.expectedFpp(true))
+                .tag("field", "email")
+                .register(meterRegistry);
+        Gauge.builder("user.availability.filter.fpp", this, filter -> filter.expectedFpp(false))
+                .tag("field", "nickname")
+                .register(meterRegistry);
+
+        // 다른 노드에서 추가된 값 수신
+        listenerContainer.ifAvailable(container -> container.addMessageListener(
+                (message, pattern) -> applyRemote(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(ADD_CHANNEL)));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            // 빌드 실패 시에도 DB 조회로 동작
+            log.error("Failed to build availability filter", e);
+        }
+    }
+
+    // 사용자 테이블을 스트리밍으로 읽어 새 필터를 만든 뒤 교체
+    public synchronized long rebuild() {
+        long started = System.currentTimeMillis();
+        Filters building = new Filters(expectedInsertions, fpp);
+        pending = building;
+        try {
+            Long count = readOnlyTransaction.execute(status -> {
+                long rows = 0;
+                try (Stream<Object[]> users = userRepository.streamEmailsAndNicknames()) {
+                    for (Object[] row : (Iterable<Object[]>) users::iterator) {
+                        building.emails.put(normalize((String) row[0]));
+                        building.nicknames.put(normalize((String) row[1]));
+                        rows++;
+                    }
+                }
+                return rows;
+            });
+            active = building;
+            log.info("Availability filter built with {} users in {} ms", count, System.currentTimeMillis() - started);
+            return count == null ? 0 : count;
+        } finally {
+            pending = null;
+        }
+    }
+
+    public boolean mightContainEmail(String email) {
+        Filters filters = active;
+        return filters == null || filters.emails.mightContain(normalize(email));
+    }
+
+    public boolean mightContainNickname(String nickname) {
+        Filters filters = active;
+        return filters == null || filters.nicknames.mightContain(normalize(nickname));
+    }
+
+    public void addEmail(String email) {
+        String normalized = normalize(email);
+        apply(filters -> filters.emails.put(normalized));
+        publish(EMAIL + normalized);
+    }
+
+    public void addNickname(String nickname) {
+        String normalized = normalize(nickname);
+        apply(filters -> filters.nicknames.put(normalized));
+        publish(NICKNAME + normalized);
+    }
+
+    public boolean isReady() {
+        return active != null;
+    }
+
+    public double expectedFpp(boolean email) {
+        Filters filters = active;
+        if (filters == null) {
+            return 1.0;
+        }
+        return email ? filters.emails.expectedFpp() : filters.nicknames.expectedFpp();
+    }
+
+    private void apply(Consumer<Filters> update) {
+        Filters current = active;
+        if (current != null) {
+            update.accept(current);
+        }
+        Filters building = pending;
+        if (building != null) {
+            update.accept(building);
+        }
+    }
+
+    private void publish(String value) {
+        if (!redisEnabled) {
+            return;
+        }
+        try {
+            redisTemplate.convertAndSend(ADD_CHANNEL, value);
+        } catch (Exception e) {
+            // 전파되지 않은 노드는 다음 재빌드 전까지 중복 확인 API가 사용 가능으로 답할 수 있지만,
+            // 가입/수정은 항상 DB로 중복을 확인하므로 중복 계정은 생기지 않는다
+            log.warn("Failed to publish availability filter update: {}", e.getMessage());
+        }
+    }
+
+    // 자기 노드가 발행한 메시지도 다시 받지만 Bloom filter 추가는 멱등이라 그대로 적용
+    private void applyRemote(String value) {
+        if (value.startsWith(EMAIL)) {
+            String normalized = value.substring(EMAIL.length());
+            apply(filters -> filters.emails.put(normalized));
+        } else if (value.startsWith(NICKNAME)) {
+            String normalized = value.substring(NICKNAME.length());
+            apply(filters -> filters.nicknames.put(normalized));
+        }
+    }
+
+    // DB collation(대소문자/악센트 무시)과 같은 값은 같은 키가 되도록 정규화
+    private static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(value.trim(), Normalizer.Form.NFKD);
+        return decomposed.replaceAll("\\p{M}", "").toLowerCase(Locale.ROOT);
+    }
+
+    private static class Filters {
+        private final BloomFilter emails;
+        private final BloomFilter nicknames;
+
+        Filters(long expectedInsertions, double fpp) {
+            this.emails = BloomFilter.create(expectedInsertions, fpp);
+            this.nicknames = BloomFilter.create(expectedInsertions, fpp);
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.gbsb.tripmate.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gbsb.tripmate.entity.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
+// 사용자 프로필 2단계 캐시 (로컬 Caffeine -> Redis -> DB)
+// 이전 형식 토큰의 사용자 조회용이며, 비밀번호 해시는 Redis에 두지 않도록 캐시하지 않는다 (로그인은 DB에서 조회)
+@Slf4j
+@Component
+public class UserDetailsCache {
+
+    private static final String KEY_PREFIX = "user-profile:";
+    private static final String INDEX_KEY = "user-profile:index";
+    private static final String EVICT_CHANNEL = "user-details:evict";
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final boolean redisEnabled;
+    private final long redisMaxSize;
+    private final Duration redisTtl;
+    private final Cache<String, CachedUser> localCache;
+
+    private final Counter localHits;
+    private final Counter redisHits;
+    private final Counter misses;
+
+    public UserDetailsCache(StringRedisTemplate redisTemplate,
+                            ObjectMapper objectMapper,
+                            MeterRegistry meterRegistry,
+                            ObjectProvider<RedisMessageListenerContainer> listenerContainer,
+                            @Value("${cache.redis.enabled:true}") boolean redisEnabled,
+                            @Value("${user.details.cache.local.max-size:10000}") long localMaxSize,
+                            @Value("${user.details.cache.local.ttl-seconds:60}") long localTtlSeconds,
+                            @Value("${user.details.cache.redis.max-size:100000}") long redisMaxSize,
+                            @Value("${user.details.cache.redis.ttl-seconds:600}") long redisTtlSeconds) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.redisEnabled = redisEnabled;
+        this.redisMaxSize = redisMaxSize;
+        this.redisTtl = Duration.ofSeconds(redisTtlSeconds);
+        this.localCache = Caffeine.newBuilder()
+                .maximumSize(localMaxSize)
+                .expireAfterWrite(Duration.ofSeconds(localTtlSeconds))
+                .build();
+
+        this.localHits = Counter.builder("user.details.cache").tag("result", "local_hit").register(meterRegistry);
+        this.redisHits = Counter.builder("user.details.cache").tag("result", "redis_hit").register(meterRegistry);
+        this.misses = Counter.builder("user.details.cache").tag("result", "miss").register(meterRegistry);
+
+        // 다른 노드에서 발행한 무효화 메시지 수신
+        listenerContainer.ifAvailable(container -> container.addMessageListener(
+                (message, pattern) -> localCache.invalidate(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(EVICT_CHANNEL)));
+    }
+
+    public Optional<User> get(String email, Function<String, Optional<User>> loader) {
+        CachedUser cached = localCache.getIfPresent(email);
+        if (cached != null) {
+            localHits.increment();
+            return Optional.of(cached.toUser());
+        }
+
+        cached = readRedis(email);
+        if (cached != null) {
+            redisHits.increment();
+            localCache.put(email, cached);
+            return Optional.of(cached.toUser());
+        }
+
+        misses.increment();
+        Optional<User> user = loader.apply(email);
+        user.ifPresent(found -> {
+            CachedUser loaded = CachedUser.from(found);
+            localCache.put(email, loaded);
+            writeRedis(email, loaded);
+        });
+        return user;
+    }
+
+    // 모든 노드의 캐시에서 제거
+    public void evict(String email) {
+        localCache.invalidate(email);
+        if (!redisEnabled) {
+            return;
+        }
+        try {
+            redisTemplate.delete(KEY_PREFIX + email);
+            redisTemplate.opsForZSet().remove(INDEX_KEY, email);
+            redisTemplate.convertAndSend(EVICT_CHANNEL, email);
+        } catch (Exception e) {
+            log.warn("Failed to evict user details of {}: {}", email, e.getMessage());
+        }
+    }
+
+    private CachedUser readRedis(String email) {
+        if (!redisEnabled) {
+            return null;
+        }
+        try {
+            String json = redisTemplate.opsForValue().get(KEY_PREFIX + email);
+            return json == null ? null : objectMapper.readValue(json, CachedUser.class);
+        } catch (Exception e) {
+            log.warn("Failed to read user details of {} from redis: {}", email, e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeRedis(String email, CachedUser cachedUser) {
+        if (!redisEnabled) {
+            return;
+        }
+        try {
+            redisTemplate.opsForValue().set(KEY_PREFIX + email, objectMapper.writeValueAsString(cachedUser), redisTtl);
+
+            // 저장 시각 순 인덱스로 개수 제한, 오래된 항목부터 제거
+            redisTemplate.opsForZSet().add(INDEX_KEY, email, System.currentTimeMillis());
+            Long size = redisTemplate.opsForZSet().zCard(INDEX_KEY);
+            if (size != null && size > redisMaxSize) {
+                Set<String> overflow = redisTemplate.opsForZSet().range(INDEX_KEY, 0, size - redisMaxSize - 1);
+                if (overflow != null && !overflow.isEmpty()) {
+                    redisTemplate.delete(overflow.stream().map(key -> KEY_PREFIX + key).toList());
+                    redisTemplate.opsForZSet().remove(INDEX_KEY, overflow.toArray());
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Failed to write user details of {} to redis: {}", email, e.getMessage());
+        }
+    }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CachedUser {
+        private Long id;
+        private String email;
+        private String nickname;
+
+        static CachedUser from(User user) {
+            return new CachedUser(user.getId(), user.getEmail(), user.getNickname());
+        }
+
+        User toUser() {
+            User user = new User();
+            user.setId(id);
+            user.setEmail(email);
+            user.setNickname(nickname);
+            return user;
+        }
+    }
+}
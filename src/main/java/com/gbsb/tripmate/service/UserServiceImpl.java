@@ -3,15 +3,19 @@ package com.gbsb.tripmate.service;
 import com.gbsb.tripmate.entity.User;
 import com.gbsb.tripmate.dto.UpdateUserProfileRequest;
 import com.gbsb.tripmate.entity.Meeting;
+import com.gbsb.tripmate.enums.ErrorCode;
+import com.gbsb.tripmate.exception.MeetingException;
 import com.gbsb.tripmate.repository.MeetingRepository;
 import com.gbsb.tripmate.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 import java.time.LocalDateTime;
+import java.util.Objects;
 import java.util.Optional;
 
 @Service
@@ -21,17 +25,30 @@ public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final MeetingRepository meetingRepository;
+    private final TokenVersionService tokenVersionService;
+    private final UserDetailsCache userDetailsCache;
+    private final UserAvailabilityFilter userAvailabilityFilter;
 
+    // 다른 노드에서 추가된 값은 Redis pub/sub으로 조금 늦게 필터에 반영될 수 있으므로
+    // 가입/수정은 항상 DB로 확인한다 (필터는 중복 확인 API 전용)
     @Override
     public User registerUser(User user) {
         if (userRepository.existsByEmail(user.getEmail())) {
-            throw new RuntimeException("Email is already in use");
+            throw new MeetingException(ErrorCode.INVALID_REQUEST, "Email is already in use");
+        }
+        if (userRepository.existsByNickname(user.getNickname())) {
+            throw new MeetingException(ErrorCode.INVALID_REQUEST, "Nickname is already in use");
         }
 
         user.setPassword(passwordEncoder.encode(user.getPassword()));
         user.setCreatedDate(LocalDateTime.now());
 
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        userDetailsCache.evict(savedUser.getEmail());
+        userAvailabilityFilter.addEmail(savedUser.getEmail());
+        userAvailabilityFilter.addNickname(savedUser.getNickname());
+
+        return savedUser;
     }
 
     @Override
@@ -40,13 +57,21 @@ public class UserServiceImpl implements UserService {
                 .orElseThrow(() -> new RuntimeException("User not found"));
     }
 
+    // 중복 확인 API용, 필터에 없으면 DB 조회 없이 사용 가능으로 응답
     @Override
     public boolean existsByEmail(String email) {
+        // 필터에 없으면 확실히 사용 가능한 이메일
+        if (!userAvailabilityFilter.mightContainEmail(email)) {
+            return false;
+        }
         return userRepository.existsByEmail(email);
     }
 
     @Override
     public boolean existsByNickname(String nickname) {
+        if (!userAvailabilityFilter.mightContainNickname(nickname)) {
+            return false;
+        }
         return userRepository.existsByNickname(nickname);
     }
 
@@ -56,17 +81,31 @@ public class UserServiceImpl implements UserService {
     }
 
 
+    // 기존 토큰을 폐기하지 못하면 변경 내용도 롤백한다
     @Override
+    @Transactional
     public User updateUserProfile(Long userId, UpdateUserProfileRequest dto) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
+        if (!Objects.equals(dto.getUserNickname(), user.getNickname()) && userRepository.existsByNickname(dto.getUserNickname())) {
+            throw new MeetingException(ErrorCode.INVALID_REQUEST, "Nickname is already in use");
+        }
+
         user.setNickname(dto.getUserNickname());
         user.setIntroduce(dto.getIntroduce());
         user.setPassword(passwordEncoder.encode(dto.getPassword()));
         user.setModifiedDate(LocalDateTime.now());
 
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+
+        // 비밀번호와 닉네임이 바뀌었으므로 기존에 발급된 토큰 폐기
+        tokenVersionService.revoke(userId);
+
+        userDetailsCache.evict(savedUser.getEmail());
+        userAvailabilityFilter.addNickname(savedUser.getNickname());
+
+        return savedUser;
     }
 
     @Override
@@ -0,0 +1,23 @@
+package com.gbsb.tripmate.store;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+// ChatStore에 저장할 채팅 메시지
+@Getter
+@AllArgsConstructor
+public class ChatEntry {
+    private final Long id;
+    private final Long roomId;
+    // ChatStore가 메시지를 받아들일 때 부여 (거절된 메시지는 순번을 쓰지 않는다)
+    @Setter
+    private Long seq;
+    // 작성자 user id (저장하지 않음, 작성자의 읽음 커서 이동에 사용)
+    private final Long writerId;
+    private final String writer;
+    private final String message;
+    private final LocalDateTime createdAt;
+}
@@ -0,0 +1,41 @@
+package com.gbsb.tripmate.store;
+
+import com.gbsb.tripmate.dto.ChatMessageResponse;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+// 채팅 메시지 저장소 (chat.store.type=jpa | segment)
+// 저장이 끝난 메시지는 ChatPersistedEvent로 알린다.
+public interface ChatStore {
+
+    // 받아들일 수 있을 때만 sequence에서 seq를 받아 entry에 부여하고 true
+    // 저장 대기열이 가득 차는 등 받을 수 없으면 seq를 받지 않고 false (거절된 메시지가 순번을 비우지 않도록)
+    boolean append(ChatEntry entry, LongSupplier sequence);
+
+    // before 보다 작은 id의 메시지를 최신순으로 limit 개
+    List<ChatMessageResponse> findHistory(Long roomId, long before, int limit);
+
+    // 채팅방의 메시지 중 ids에 해당하는 것 (순서 보장 안 함, 없는 id는 빠진다)
+    List<ChatMessageResponse> findByIds(Long roomId, Collection<Long> ids);
+
+    // afterSeq 보다 큰 seq의 메시지를 seq 오름차순으로 limit 개
+    List<ChatMessageResponse> findSince(Long roomId, long afterSeq, int limit);
+
+    // 채팅방의 마지막 seq (메시지가 없으면 0)
+    long maxSeq(Long roomId);
+
+    // 채팅방의 마지막 메시지 id (메시지가 없으면 0), 새 참여자의 읽음 커서 시작점
+    long latestId(Long roomId);
+
+    // afterId 보다 큰 id의 메시지 수
+    long countAfter(Long roomId, long afterId);
+
+    // userId -> (roomId -> 읽음 커서 이후 메시지 수), 참여 중인 모든 채팅방 포함
+    Map<Long, Map<Long, Long>> countUnread(Collection<Long> userIds);
+
+    // 지금까지 append 한 메시지가 저장될 때까지 대기 (벤치마크/종료용)
+    void flush();
+}
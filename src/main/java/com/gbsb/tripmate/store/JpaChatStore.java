@@ -0,0 +1,75 @@
+package com.gbsb.tripmate.store;
+
+import com.gbsb.tripmate.dto.ChatMessageResponse;
+import com.gbsb.tripmate.repository.ChatRepository;
+import com.gbsb.tripmate.repository.ChatRoomParticipantRepository;
+import com.gbsb.tripmate.service.ChatMessageWriter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.function.LongSupplier;
+
+// MySQL chat 테이블 저장소 (기본값)
+// 쓰기는 ChatMessageWriter의 write-behind 배치 INSERT, 읽기는 (chatroom_id, id) / (chatroom_id, seq) 인덱스 조회
+@Component
+@ConditionalOnProperty(name = "chat.store.type", havingValue = "jpa", matchIfMissing = true)
+@RequiredArgsConstructor
+public class JpaChatStore implements ChatStore {
+
+    private final ChatRepository chatRepository;
+    private final ChatRoomParticipantRepository participantRepository;
+    private final ChatMessageWriter chatMessageWriter;
+
+    @Override
+    public boolean append(ChatEntry entry, LongSupplier sequence) {
+        return chatMessageWriter.enqueue(entry, sequence);
+    }
+
+    @Override
+    public List<ChatMessageResponse> findHistory(Long roomId, long before, int limit) {
+        return chatRepository.findHistory(roomId, before, PageRequest.of(0, limit));
+    }
+
+    @Override
+    public List<ChatMessageResponse> findByIds(Long roomId, Collection<Long> ids) {
+        return ids.isEmpty() ? List.of() : chatRepository.findByIds(roomId, ids);
+    }
+
+    @Override
+    public List<ChatMessageResponse> findSince(Long roomId, long afterSeq, int limit) {
+        return chatRepository.findSince(roomId, afterSeq, PageRequest.of(0, limit));
+    }
+
+    @Override
+    public long maxSeq(Long roomId) {
+        return chatRepository.findMaxSeq(roomId);
+    }
+
+    @Override
+    public long latestId(Long roomId) {
+        return chatRepository.findLatestId(roomId);
+    }
+
+    @Override
+    public long countAfter(Long roomId, long afterId) {
+        return chatRepository.countAfter(roomId, afterId);
+    }
+
+    // 참여 테이블과 chat을 조인한 집계 쿼리 한 번으로 조회
+    @Override
+    public Map<Long, Map<Long, Long>> countUnread(Collection<Long> userIds) {
+        Map<Long, Map<Long, Long>> counts = new HashMap<>();
+        for (ChatRoomParticipantRepository.UnreadCountView row : participantRepository.findUnreadCounts(userIds)) {
+            counts.computeIfAbsent(row.getUserId(), userId -> new TreeMap<>()).put(row.getRoomId(), row.getUnreadCount());
+        }
+        return counts;
+    }
+
+    @Override
+    public void flush() {
+        chatMessageWriter.awaitFlushed();
+    }
+}
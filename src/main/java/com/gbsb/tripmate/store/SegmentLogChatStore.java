@@ -0,0 +1,606 @@
+package com.gbsb.tripmate.store;
+
+import com.gbsb.tripmate.dto.ChatMessageResponse;
+import com.gbsb.tripmate.event.ChatPersistedEvent;
+import com.gbsb.tripmate.repository.ChatRoomParticipantRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.LongSupplier;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+// 채팅 메시지를 모든 채팅방이 공유하는 append-only 세그먼트 파일에 저장 (chat.store.type=segment)
+//
+// 레코드: [length int][crc int][id][roomId][seq][createdAt][prevPosition][writerLen short][writer][messageLen int][message]
+// position은 전체 로그에서의 논리 오프셋(세그먼트 base + 세그먼트 안 위치)이고,
+// 각 레코드는 같은 채팅방의 직전 레코드 position을 가지고 있어 채팅방 단위로 역순 탐색한다.
+// 채팅방마다 index-interval 개 레코드에 하나씩 (id, seq, 순서, position)을 메모리에 두는 희소 인덱스로
+// 탐색 시작 지점을 찾으므로, 조회는 limit + index-interval 개 이하의 레코드만 읽는다.
+//
+// 세그먼트는 segment-bytes 크기로 미리 매핑해 두고 가득 차면 새 파일로 넘어가며,
+// retention-hours 가 지난 닫힌 세그먼트부터 삭제한다. 기동 시 세그먼트를 순서대로 읽어 인덱스를 다시 만들고
+// CRC가 맞지 않는 레코드 이후는 버린다. 디스크 동기화(force)는 fsync-interval-ms 마다 수행한다.
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "chat.store.type", havingValue = "segment")
+public class SegmentLogChatStore implements ChatStore {
+
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final int HEADER_BYTES = 8;
+    private static final int FIXED_BODY_BYTES = 8 * 5 + 2 + 4;
+    private static final int PUBLISH_BATCH = 1000;
+
+    private static final int ID = 8;
+    private static final int ROOM_ID = 16;
+    private static final int SEQ = 24;
+    private static final int CREATED_AT = 32;
+    private static final int PREV = 40;
+    private static final int WRITER = 48;
+
+    private final ChatRoomParticipantRepository participantRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Path directory;
+    private final int segmentBytes;
+    private final int indexInterval;
+    private final Duration retention;
+    private final long fsyncIntervalMillis;
+    private final long publishIntervalMillis;
+
+    // base offset -> 세그먼트
+    private final ConcurrentSkipListMap<Long, Segment> segments = new ConcurrentSkipListMap<>();
+    private final Map<Long, RoomIndex> rooms = new ConcurrentHashMap<>();
+    // 저장 후 아직 ChatPersistedEvent로 알리지 않은 메시지
+    private final ConcurrentLinkedQueue<ChatEntry> unpublished = new ConcurrentLinkedQueue<>();
+    private final CRC32 crc = new CRC32();
+
+    // 세그먼트 파일은 노드 로컬이라 여러 노드가 메시지를 나눠 받는 redis 모드에서는 사용할 수 없다
+    @Value("${chat.broker.mode:simple}")
+    private String brokerMode = "simple";
+
+    private ScheduledExecutorService scheduler;
+    // 쓰기는 this로 동기화
+    private Segment active;
+    private boolean closed;
+    // 보존 중인 가장 오래된 position
+    private volatile long startOffset;
+
+    public SegmentLogChatStore(ChatRoomParticipantRepository participantRepository,
+                               ApplicationEventPublisher eventPublisher,
+                               MeterRegistry meterRegistry,
+                               @Value("${chat.store.segment.dir:data/chat-log}") String directory,
+                               @Value("${chat.store.segment.segment-bytes:67108864}") int segmentBytes,
+                               @Value("${chat.store.segment.index-interval:64}") int indexInterval,
+                               @Value("${chat.store.segment.retention-hours:720}") long retentionHours,
+                               @Value("${chat.store.segment.fsync-interval-ms:1000}") long fsyncIntervalMillis,
+                               @Value("${chat.store.segment.publish-interval-ms:50}") long publishIntervalMillis) {
+        this.participantRepository = participantRepository;
+        this.eventPublisher = eventPublisher;
+        this.directory = Paths.get(directory);
+        this.segmentBytes = segmentBytes;
+        this.indexInterval = indexInterval;
+        this.retention = Duration.ofHours(retentionHours);
+        this.fsyncIntervalMillis = fsyncIntervalMillis;
+        this.publishIntervalMillis = publishIntervalMillis;
+
+        if (meterRegistry != null) {
+            Gauge.builder("chat.store.segments", segments, Map::size).register(meterRegistry);
+            Gauge.builder("chat.store.rooms", rooms, Map::size).register(meterRegistry);
+        }
+    }
+
+    @PostConstruct
+    public void open() throws IOException {
+        if (!"simple".equals(brokerMode)) {
+            throw new IllegalStateException("chat.store.type=segment requires chat.broker.mode=simple (was " + brokerMode + ")");
+        }
+        Files.createDirectories(directory);
+        List<Path> files;
+        try (Stream<Path> listed = Files.list(directory)) {
+            files = listed.filter(path -> path.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .sorted(Comparator.comparingLong(SegmentLogChatStore::baseOf))
+                    .toList();
+        }
+
+        long started = System.currentTimeMillis();
+        long records = 0;
+        for (Path file : files) {
+            Segment segment = Segment.map(file, baseOf(file), Math.max(segmentBytes, (int) Files.size(file)));
+            records += recover(segment);
+            segments.put(segment.base, segment);
+        }
+
+        synchronized (this) {
+            active = segments.isEmpty() ? createSegment(0L) : segments.lastEntry().getValue();
+        }
+        startOffset = segments.firstKey();
+        log.info("Opened chat segment log {}: {} segments, {} records, {} rooms in {} ms",
+                directory, segments.size(), records, rooms.size(), System.currentTimeMillis() - started);
+        // 중단된 동안 보존 기간이 지난 세그먼트는 첫 주기를 기다리지 않고 정리
+        enforceRetention();
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "chat-segment-log");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::publishPersisted, publishIntervalMillis, publishIntervalMillis, TimeUnit.MILLISECONDS);
+        scheduler.scheduleWithFixedDelay(this::force, fsyncIntervalMillis, fsyncIntervalMillis, TimeUnit.MILLISECONDS);
+        scheduler.scheduleWithFixedDelay(this::enforceRetention, 1, 1, TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    public void close() {
+        synchronized (this) {
+            closed = true;
+        }
+        if (scheduler != null) {
+            scheduler.shutdown();
+        }
+        publishPersisted();
+        force();
+    }
+
+    @Override
+    public boolean append(ChatEntry entry, LongSupplier sequence) {
+        byte[] writer = bytes(entry.getWriter());
+        byte[] message = bytes(entry.getMessage());
+        int recordBytes = HEADER_BYTES + FIXED_BODY_BYTES + writer.length + message.length;
+        if (recordBytes > segmentBytes) {
+            log.warn("Chat message {} of room {} is larger than a segment", entry.getId(), entry.getRoomId());
+            return false;
+        }
+
+        RoomIndex room = rooms.computeIfAbsent(entry.getRoomId(), roomId -> new RoomIndex());
+        synchronized (this) {
+            if (closed) {
+                return false;
+            }
+            if (active.size + recordBytes > active.capacity) {
+                roll();
+            }
+            // 기록할 자리가 확보된 뒤에 순번을 받는다
+            entry.setSeq(sequence.getAsLong());
+
+            long prev;
+            synchronized (room) {
+                prev = room.head;
+            }
+            int at = active.size;
+            ByteBuffer buffer = active.buffer;
+            buffer.putLong(at + ID, entry.getId());
+            buffer.putLong(at + ROOM_ID, entry.getRoomId());
+            buffer.putLong(at + SEQ, entry.getSeq());
+            buffer.putLong(at + CREATED_AT, entry.getCreatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+            buffer.putLong(at + PREV, prev);
+            buffer.putShort(at + WRITER, (short) writer.length);
+            buffer.put(at + WRITER + 2, writer);
+            buffer.putInt(at + WRITER + 2 + writer.length, message.length);
+            buffer.put(at + WRITER + 6 + writer.length, message);
+
+            crc.reset();
+            crc.update(buffer.slice(at + HEADER_BYTES, recordBytes - HEADER_BYTES));
+            buffer.putInt(at + 4, (int) crc.getValue());
+            // 길이를 마지막에 기록해 중간에 끊긴 레코드는 복구 시 길이 0으로 보이게 한다
+            buffer.putInt(at, recordBytes - 4);
+
+            long position = active.base + at;
+            active.size += recordBytes;
+            synchronized (room) {
+                room.add(entry.getId(), entry.getSeq(), position, indexInterval);
+            }
+        }
+        unpublished.add(entry);
+        return true;
+    }
+
+    @Override
+    public List<ChatMessageResponse> findHistory(Long roomId, long before, int limit) {
+        RoomIndex room = rooms.get(roomId);
+        if (room == null) {
+            return List.of();
+        }
+        long position;
+        synchronized (room) {
+            position = room.startAtId(before, startOffset);
+        }
+
+        List<ChatMessageResponse> messages = new ArrayList<>(limit);
+        while (position >= 0 && messages.size() < limit) {
+            Segment segment = segmentAt(position);
+            if (segment == null) {
+                break;
+            }
+            ByteBuffer buffer = segment.buffer;
+            int at = (int) (position - segment.base);
+            if (buffer.getLong(at + ID) < before) {
+                messages.add(toResponse(buffer, at));
+            }
+            position = buffer.getLong(at + PREV);
+        }
+        return messages;
+    }
+
+    // id마다 sparse index에서 가까운 위치를 찾아 체인을 따라간다
+    @Override
+    public List<ChatMessageResponse> findByIds(Long roomId, Collection<Long> ids) {
+        List<ChatMessageResponse> messages = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            List<ChatMessageResponse> found = findHistory(roomId, id + 1, 1);
+            if (!found.isEmpty() && found.get(0).getId().equals(id)) {
+                messages.add(found.get(0));
+            }
+        }
+        return messages;
+    }
+
+    @Override
+    public List<ChatMessageResponse> findSince(Long roomId, long afterSeq, int limit) {
+        RoomIndex room = rooms.get(roomId);
+        if (room == null) {
+            return List.of();
+        }
+        long position;
+        synchronized (room) {
+            // afterSeq + limit 보다 뒤의 샘플에서 시작하면 필요한 구간을 모두 지나간다
+            position = room.startAtSeq(afterSeq + limit, startOffset);
+        }
+
+        List<ChatMessageResponse> messages = new ArrayList<>();
+        while (position >= 0) {
+            Segment segment = segmentAt(position);
+            if (segment == null) {
+                break;
+            }
+            ByteBuffer buffer = segment.buffer;
+            int at = (int) (position - segment.base);
+            if (buffer.getLong(at + SEQ) <= afterSeq) {
+                break;
+            }
+            messages.add(toResponse(buffer, at));
+            position = buffer.getLong(at + PREV);
+        }
+        Collections.reverse(messages);
+        return messages.size() > limit ? messages.subList(0, limit) : messages;
+    }
+
+    @Override
+    public long maxSeq(Long roomId) {
+        RoomIndex room = rooms.get(roomId);
+        if (room == null) {
+            return 0L;
+        }
+        synchronized (room) {
+            return room.maxSeq;
+        }
+    }
+
+    // 보존 기간이 지나 레코드가 삭제되어도 마지막 id는 남는다
+    @Override
+    public long latestId(Long roomId) {
+        RoomIndex room = rooms.get(roomId);
+        if (room == null) {
+            return 0L;
+        }
+        synchronized (room) {
+            return room.maxId;
+        }
+    }
+
+    @Override
+    public long countAfter(Long roomId, long afterId) {
+        RoomIndex room = rooms.get(roomId);
+        if (room == null) {
+            return 0L;
+        }
+        long position;
+        long ordinal;
+        long total;
+        synchronized (room) {
+            int sample = room.firstSampleAfterId(afterId, startOffset);
+            position = sample < 0 ? room.head : room.samplePositions[sample];
+            ordinal = sample < 0 ? room.count - 1 : room.sampleOrdinals[sample];
+            total = room.count;
+        }
+
+        // afterId 보다 큰 첫 레코드의 순서를 찾는다
+        long first = -1;
+        while (position >= 0) {
+            Segment segment = segmentAt(position);
+            if (segment == null) {
+                break;
+            }
+            ByteBuffer buffer = segment.buffer;
+            int at = (int) (position - segment.base);
+            if (buffer.getLong(at + ID) <= afterId) {
+                break;
+            }
+            first = ordinal--;
+            position = buffer.getLong(at + PREV);
+        }
+        return first < 0 ? 0L : total - first;
+    }
+
+    @Override
+    public Map<Long, Map<Long, Long>> countUnread(Collection<Long> userIds) {
+        Map<Long, Map<Long, Long>> counts = new HashMap<>();
+        for (ChatRoomParticipantRepository.ReadCursorView cursor : participantRepository.findReadCursors(userIds)) {
+            counts.computeIfAbsent(cursor.getUserId(), userId -> new TreeMap<>())
+                    .put(cursor.getRoomId(), countAfter(cursor.getRoomId(), cursor.getLastReadMessageId()));
+        }
+        return counts;
+    }
+
+    @Override
+    public void flush() {
+        publishPersisted();
+        force();
+    }
+
+    private void publishPersisted() {
+        try {
+            List<ChatEntry> batch = new ArrayList<>();
+            ChatEntry entry;
+            while ((entry = unpublished.poll()) != null) {
+                batch.add(entry);
+                if (batch.size() == PUBLISH_BATCH) {
+                    eventPublisher.publishEvent(new ChatPersistedEvent(batch));
+                    batch = new ArrayList<>();
+                }
+            }
+            if (!batch.isEmpty()) {
+                eventPublisher.publishEvent(new ChatPersistedEvent(batch));
+            }
+        } catch (Exception e) {
+            log.warn("Failed to publish persisted chat messages: {}", e.getMessage());
+        }
+    }
+
+    private void force() {
+        Segment segment;
+        synchronized (this) {
+            segment = active;
+        }
+        try {
+            segment.buffer.force();
+        } catch (Exception e) {
+            log.warn("Failed to sync chat segment {}: {}", segment.path, e.getMessage());
+        }
+    }
+
+    // 보존 기간이 지난 닫힌 세그먼트를 오래된 것부터 삭제
+    // 삭제된 세그먼트의 매핑은 GC 시점에 해제되며, 조회 중인 스레드는 기존 매핑을 계속 읽을 수 있다
+    private void enforceRetention() {
+        long cutoff = System.currentTimeMillis() - retention.toMillis();
+        try {
+            for (Segment segment : segments.values()) {
+                Segment current;
+                synchronized (this) {
+                    current = active;
+                }
+                if (segment == current || Files.getLastModifiedTime(segment.path).toMillis() > cutoff) {
+                    break;
+                }
+                startOffset = segments.higherKey(segment.base);
+                segments.remove(segment.base);
+                Files.deleteIfExists(segment.path);
+                log.info("Deleted chat segment {}", segment.path);
+            }
+            for (RoomIndex room : rooms.values()) {
+                synchronized (room) {
+                    room.prune(startOffset);
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Failed to enforce chat segment retention: {}", e.getMessage());
+        }
+    }
+
+    // this로 동기화된 상태에서 호출
+    private void roll() {
+        active.buffer.force();
+        active = createSegment(active.base + active.size);
+    }
+
+    private Segment createSegment(long base) {
+        try {
+            Path path = directory.resolve(String.format("%020d%s", base, SEGMENT_SUFFIX));
+            Segment segment = Segment.map(path, base, segmentBytes);
+            segments.put(base, segment);
+            return segment;
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to create chat segment at " + base, e);
+        }
+    }
+
+    // 세그먼트를 처음부터 읽어 채팅방 인덱스를 다시 만들고 마지막 정상 레코드 뒤를 쓰기 위치로 둔다
+    private long recover(Segment segment) {
+        ByteBuffer buffer = segment.buffer;
+        CRC32 check = new CRC32();
+        long records = 0;
+        int at = 0;
+        while (at + HEADER_BYTES + FIXED_BODY_BYTES <= segment.capacity) {
+            int length = buffer.getInt(at);
+            if (length <= 0 || at + 4 + length > segment.capacity) {
+                break;
+            }
+            check.reset();
+            check.update(buffer.slice(at + HEADER_BYTES, length - 4));
+            if ((int) check.getValue() != buffer.getInt(at + 4)) {
+                log.warn("Truncating chat segment {} at {}: checksum mismatch", segment.path, at);
+                break;
+            }
+            long roomId = buffer.getLong(at + ROOM_ID);
+            rooms.computeIfAbsent(roomId, id -> new RoomIndex())
+                    .add(buffer.getLong(at + ID), buffer.getLong(at + SEQ), segment.base + at, indexInterval);
+            records++;
+            at += 4 + length;
+        }
+        segment.size = at;
+        return records;
+    }
+
+    // 삭제되었거나 없는 position이면 null
+    private Segment segmentAt(long position) {
+        if (position < startOffset) {
+            return null;
+        }
+        Map.Entry<Long, Segment> entry = segments.floorEntry(position);
+        return entry == null ? null : entry.getValue();
+    }
+
+    private static ChatMessageResponse toResponse(ByteBuffer buffer, int at) {
+        int writerLength = buffer.getShort(at + WRITER);
+        byte[] writer = new byte[writerLength];
+        buffer.get(at + WRITER + 2, writer);
+        byte[] message = new byte[buffer.getInt(at + WRITER + 2 + writerLength)];
+        buffer.get(at + WRITER + 6 + writerLength, message);
+        return new ChatMessageResponse(
+                buffer.getLong(at + ID),
+                buffer.getLong(at + ROOM_ID),
+                buffer.getLong(at + SEQ),
+                new String(writer, StandardCharsets.UTF_8),
+                new String(message, StandardCharsets.UTF_8),
+                LocalDateTime.ofInstant(Instant.ofEpochMilli(buffer.getLong(at + CREATED_AT)), ZoneId.systemDefault()));
+    }
+
+    private static byte[] bytes(String value) {
+        return value == null ? new byte[0] : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static long baseOf(Path file) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private static final class Segment {
+        private final Path path;
+        private final long base;
+        private final int capacity;
+        private final MappedByteBuffer buffer;
+        // 쓰기 위치 (SegmentLogChatStore로 동기화)
+        private int size;
+
+        private Segment(Path path, long base, int capacity, MappedByteBuffer buffer) {
+            this.path = path;
+            this.base = base;
+            this.capacity = capacity;
+            this.buffer = buffer;
+        }
+
+        static Segment map(Path path, long base, int capacity) throws IOException {
+            try (FileChannel channel = FileChannel.open(path,
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                return new Segment(path, base, capacity, channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity));
+            }
+        }
+    }
+
+    // 채팅방별 마지막 레코드와 희소 인덱스 (RoomIndex 인스턴스로 동기화)
+    private static final class RoomIndex {
+        private long head = -1;
+        private long count;
+        private long maxSeq;
+        private long maxId;
+
+        private int samples;
+        private long[] sampleIds = new long[4];
+        private long[] sampleSeqs = new long[4];
+        private long[] sampleOrdinals = new long[4];
+        private long[] samplePositions = new long[4];
+
+        void add(long id, long seq, long position, int interval) {
+            if (count % interval == 0) {
+                if (samples == sampleIds.length) {
+                    int grown = samples * 2;
+                    sampleIds = Arrays.copyOf(sampleIds, grown);
+                    sampleSeqs = Arrays.copyOf(sampleSeqs, grown);
+                    sampleOrdinals = Arrays.copyOf(sampleOrdinals, grown);
+                    samplePositions = Arrays.copyOf(samplePositions, grown);
+                }
+                sampleIds[samples] = id;
+                sampleSeqs[samples] = seq;
+                sampleOrdinals[samples] = count;
+                samplePositions[samples] = position;
+                samples++;
+            }
+            head = position;
+            count++;
+            maxSeq = Math.max(maxSeq, seq);
+            maxId = Math.max(maxId, id);
+        }
+
+        // id >= before 인 첫 샘플 위치 (없으면 head), 여기서부터 역순으로 읽는다
+        long startAtId(long before, long startOffset) {
+            int sample = firstSample(sampleIds, before - 1, startOffset);
+            return sample < 0 ? head : samplePositions[sample];
+        }
+
+        // seq > afterSeq 인 첫 샘플 위치 (없으면 head)
+        long startAtSeq(long afterSeq, long startOffset) {
+            int sample = firstSample(sampleSeqs, afterSeq, startOffset);
+            return sample < 0 ? head : samplePositions[sample];
+        }
+
+        int firstSampleAfterId(long afterId, long startOffset) {
+            return firstSample(sampleIds, afterId, startOffset);
+        }
+
+        // values[i] > key 이고 삭제되지 않은 첫 샘플 번호 (없으면 -1)
+        private int firstSample(long[] values, long key, long startOffset) {
+            int low = 0;
+            int high = samples;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (values[mid] > key) {
+                    high = mid;
+                } else {
+                    low = mid + 1;
+                }
+            }
+            while (low < samples && samplePositions[low] < startOffset) {
+                low++;
+            }
+            return low < samples ? low : -1;
+        }
+
+        // 삭제된 세그먼트를 가리키는 샘플 제거
+        void prune(long startOffset) {
+            int removed = 0;
+            while (removed < samples && samplePositions[removed] < startOffset) {
+                removed++;
+            }
+            if (removed == 0) {
+                return;
+            }
+            int remaining = samples - removed;
+            System.arraycopy(sampleIds, removed, sampleIds, 0, remaining);
+            System.arraycopy(sampleSeqs, removed, sampleSeqs, 0, remaining);
+            System.arraycopy(sampleOrdinals, removed, sampleOrdinals, 0, remaining);
+            System.arraycopy(samplePositions, removed, samplePositions, 0, remaining);
+            samples = remaining;
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.gbsb.tripmate.util;
+
+import java.util.*;
+
+// 금칙어 치환용 Aho-Corasick 오토마톤 (생성 후 변경 불가, 스레드 안전)
+// 메시지를 한 번만 훑으며, 금칙어가 없으면 원본 문자열을 그대로 반환하고
+// 있으면 출력 버퍼 하나만 만들어 해당 구간을 '*'로 바꾼다. 영문은 대소문자를 구분하지 않는다.
+public final class AhoCorasick {
+
+    private static final char MASK_CHAR = '*';
+    private static final long EMPTY = -1L;
+
+    // 루트 전이는 문자로 바로 찾도록 배열로 둔다 (0: 전이 없음)
+    private final int[] rootNext = new int[Character.MAX_VALUE + 1];
+
+    // 나머지 전이: (state << 16 | char) -> state, open addressing
+    private final long[] keys;
+    private final int[] values;
+    private final int tableMask;
+
+    private final int[] fail;
+    // 이 상태에서 끝나는 가장 긴 금칙어 길이 (없으면 0)
+    private final int[] matchLength;
+    private final int wordCount;
+
+    private AhoCorasick(Map<Long, Integer> edges, int[] depth, boolean[] terminal, int stateCount, int wordCount) {
+        this.wordCount = wordCount;
+
+        int capacity = Integer.highestOneBit(Math.max(edges.size() * 2, 16) - 1) << 1;
+        this.keys = new long[capacity];
+        this.values = new int[capacity];
+        this.tableMask = capacity - 1;
+        Arrays.fill(keys, EMPTY);
+
+        // BFS를 위해 부모별 자식 목록(CSR) 구성
+        int[] childCount = new int[stateCount + 1];
+        for (long key : edges.keySet()) {
+            childCount[(int) (key >>> 16) + 1]++;
+        }
+        for (int i = 1; i <= stateCount; i++) {
+            childCount[i] += childCount[i - 1];
+        }
+        int[] childOffset = childCount.clone();
+        int[] children = new int[edges.size()];
+        char[] childChars = new char[edges.size()];
+        for (Map.Entry<Long, Integer> edge : edges.entrySet()) {
+            long key = edge.getKey();
+            int parent = (int) (key >>> 16);
+            int slot = childOffset[parent]++;
+            children[slot] = edge.getValue();
+            childChars[slot] = (char) key;
+            if (parent == 0) {
+                rootNext[(char) key] = edge.getValue();
+            } else {
+                put(key, edge.getValue());
+            }
+        }
+
+        this.fail = new int[stateCount];
+        this.matchLength = new int[stateCount];
+        int[] queue = new int[stateCount];
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = 0;
+        while (head < tail) {
+            int state = queue[head++];
+            for (int i = childCount[state]; i < childCount[state + 1]; i++) {
+                int child = children[i];
+                char c = childChars[i];
+                if (state == 0) {
+                    fail[child] = 0;
+                } else {
+                    int f = fail[state];
+                    int next;
+                    while ((next = next(f, c)) < 0) {
+                        f = fail[f];
+                    }
+                    fail[child] = next;
+                }
+                matchLength[child] = Math.max(terminal[child] ? depth[child] : 0, matchLength[fail[child]]);
+                queue[tail++] = child;
+            }
+        }
+    }
+
+    public static AhoCorasick build(Collection<String> words) {
+        Map<Long, Integer> edges = new HashMap<>();
+        int[] depth = new int[16];
+        boolean[] terminal = new boolean[16];
+        int stateCount = 1;
+        int wordCount = 0;
+
+        for (String word : words) {
+            if (word == null || word.isEmpty()) {
+                continue;
+            }
+            int state = 0;
+            for (int i = 0; i < word.length(); i++) {
+                long key = ((long) state << 16) | fold(word.charAt(i));
+                Integer next = edges.get(key);
+                if (next == null) {
+                    if (stateCount == depth.length) {
+                        depth = Arrays.copyOf(depth, stateCount * 2);
+                        terminal = Arrays.copyOf(terminal, stateCount * 2);
+                    }
+                    next = stateCount++;
+                    depth[next] = i + 1;
+                    edges.put(key, next);
+                }
+                state = next;
+            }
+            if (!terminal[state]) {
+                terminal[state] = true;
+                wordCount++;
+            }
+        }
+        return new AhoCorasick(edges, depth, terminal, stateCount, wordCount);
+    }
+
+    public String mask(String text) {
+        if (text == null || wordCount == 0) {
+            return text;
+        }
+
+        char[] output = null;
+        int state = 0;
+        for (int i = 0; i < text.length(); i++) {
+            state = step(state, fold(text.charAt(i)));
+            int length = matchLength[state];
+            if (length > 0) {
+                if (output == null) {
+                    output = text.toCharArray();
+                }
+                for (int j = i - length + 1; j <= i; j++) {
+                    output[j] = MASK_CHAR;
+                }
+            }
+        }
+        return output == null ? text : new String(output);
+    }
+
+    public int wordCount() {
+        return wordCount;
+    }
+
+    public int stateCount() {
+        return fail.length;
+    }
+
+    private int step(int state, char c) {
+        while (state != 0) {
+            int next = lookup(state, c);
+            if (next >= 0) {
+                return next;
+            }
+            state = fail[state];
+        }
+        return rootNext[c];
+    }
+
+    // 생성 중 실패 링크 계산용, 루트는 항상 전이가 있는 것으로 본다
+    private int next(int state, char c) {
+        return state == 0 ? rootNext[c] : lookup(state, c);
+    }
+
+    private int lookup(int state, char c) {
+        long key = ((long) state << 16) | c;
+        int slot = mix(key) & tableMask;
+        while (true) {
+            long found = keys[slot];
+            if (found == key) {
+                return values[slot];
+            }
+            if (found == EMPTY) {
+                return -1;
+            }
+            slot = (slot + 1) & tableMask;
+        }
+    }
+
+    private void put(long key, int value) {
+        int slot = mix(key) & tableMask;
+        while (keys[slot] != EMPTY) {
+            slot = (slot + 1) & tableMask;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+    }
+
+    private static int mix(long key) {
+        key *= 0x9E3779B97F4A7C15L;
+        return (int) (key ^ (key >>> 32));
+    }
+
+    private static char fold(char c) {
+        return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+    }
+}
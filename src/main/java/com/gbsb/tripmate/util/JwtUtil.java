@@ -1,58 +1,135 @@
 package com.gbsb.tripmate.util;
 
+import com.gbsb.tripmate.security.JwtPrincipal;
+import com.gbsb.tripmate.service.CustomUserDetailsService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
+import java.util.concurrent.TimeUnit;
 
 @Slf4j
 @Component
 public class JwtUtil {
 
+    private static final String CLAIM_USER_ID = "uid";
+    private static final String CLAIM_NICKNAME = "nickname";
+    private static final String CLAIM_TOKEN_VERSION = "ver";
+
     @Value("${jwt.secret}")
     private String jwtSecret;
 
     @Value("${jwt.expiration}")
     private int jwtExpiration;
 
-    private Key getSigningKey() {
-        byte[] keyBytes = jwtSecret.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
+    @Value("${jwt.verified-cache-size:10000}")
+    private long verifiedCacheSize;
+
+    private Key signingKey;
+    private JwtParser jwtParser;
+
+    // 검증을 마친 토큰 캐시 (키: 토큰 해시, 토큰의 exp 시점에 만료)
+    private Cache<String, JwtPrincipal> verifiedTokens;
+
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        jwtParser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+        verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheSize)
+                .expireAfter(new Expiry<String, JwtPrincipal>() {
+                    @Override
+                    public long expireAfterCreate(String key, JwtPrincipal principal, long currentTime) {
+                        long remaining = principal.getExpiration().getTime() - System.currentTimeMillis();
+                        return TimeUnit.MILLISECONDS.toNanos(Math.max(remaining, 0));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, JwtPrincipal principal, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, JwtPrincipal principal, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
     }
 
-    public String generateToken(Authentication authentication) {
-        UserDetails userPrincipal = (UserDetails) authentication.getPrincipal();
+    public String generateToken(Authentication authentication, long tokenVersion) {
+        CustomUserDetailsService.CustomUserDetails userPrincipal =
+                (CustomUserDetailsService.CustomUserDetails) authentication.getPrincipal();
+        return generateToken(userPrincipal.getId(), userPrincipal.getUsername(),
+                userPrincipal.getUser().getNickname(), tokenVersion);
+    }
+
+    public String generateToken(Long userId, String email, String nickname, long tokenVersion) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtExpiration);
 
+        // 요청마다 사용자 조회를 하지 않도록 principal 구성에 필요한 정보를 클레임에 담는다
         return Jwts.builder()
-                .setSubject(userPrincipal.getUsername())
+                .setSubject(email)
+                .claim(CLAIM_USER_ID, userId)
+                .claim(CLAIM_NICKNAME, nickname)
+                .claim(CLAIM_TOKEN_VERSION, tokenVersion)
                 .setIssuedAt(now)
                 .setExpiration(expiryDate)
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
-    public String getUsernameFromJWT(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    // 서명/만료 검증 후 principal 반환 (유효하지 않으면 JwtException)
+    // 같은 토큰은 만료 전까지 캐시된 결과를 재사용해 HMAC 검증을 한 번만 수행
+    public JwtPrincipal verify(String token) {
+        if (token == null || token.isEmpty()) {
+            throw new IllegalArgumentException("JWT claims string is empty.");
+        }
+
+        String cacheKey = hash(token);
+        JwtPrincipal cached = verifiedTokens.getIfPresent(cacheKey);
+        if (cached != null) {
+            return cached;
+        }
+
+        Claims claims = jwtParser.parseClaimsJws(token).getBody();
+        Long tokenVersion = claims.get(CLAIM_TOKEN_VERSION, Long.class);
+        JwtPrincipal principal = new JwtPrincipal(
+                claims.getSubject(),
+                claims.get(CLAIM_USER_ID, Long.class),
+                claims.get(CLAIM_NICKNAME, String.class),
+                tokenVersion == null ? 0L : tokenVersion,
+                claims.getExpiration());
+
+        if (principal.getExpiration() != null) {
+            verifiedTokens.put(cacheKey, principal);
+        }
+        return principal;
+    }
 
-        return claims.getSubject();
+    public String getUsernameFromJWT(String token) {
+        return verify(token).getUsername();
     }
 
     public boolean validateToken(String authToken) {
         try {
-            Jwts.parserBuilder().setSigningKey(getSigningKey()).build().parseClaimsJws(authToken);
+            verify(authToken);
             return true;
         } catch (SecurityException ex) {
             log.error("Invalid JWT signature");
@@ -62,9 +139,20 @@ public class JwtUtil {
             log.error("Expired JWT token");
         } catch (UnsupportedJwtException ex) {
             log.error("Unsupported JWT token");
+        } catch (JwtException ex) {
+            log.error("Invalid JWT signature");
         } catch (IllegalArgumentException ex) {
             log.error("JWT claims string is empty.");
         }
         return false;
     }
+
+    private String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
 }
@@ -0,0 +1,87 @@
+package com.gbsb.tripmate.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// 채팅 검색용 토크나이저
+// 글자/숫자가 아닌 문자와 문자 체계가 바뀌는 지점에서 자른 뒤,
+// 한글/한자/가나 구간은 2-gram으로 ("제주공항에서" -> 제주, 주공, 공항, 항에, 에서) 조사가 붙어도 검색되게 하고
+// 영문/숫자 구간은 소문자 단어 하나로 만든다. 한 글자짜리 한글 구간은 그 글자 하나가 토큰이 된다.
+// 문서는 2-gram과 함께 글자 하나씩도 토큰으로 넣어 한 글자 검색어("밥")가 "밥먹자"에도 맞게 하고,
+// 검색어는 2글자 이상이면 2-gram만 써서 정확도를 유지한다.
+public final class NgramTokenizer {
+
+    private NgramTokenizer() {
+    }
+
+    // 문서 토큰 (중복 포함, 등장 순서)
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text != null) {
+            tokenize(text, 0, text.length(), true, tokens);
+        }
+        return tokens;
+    }
+
+    // 검색어를 공백 기준 단어로 나눈 뒤 단어별 토큰 (토큰이 없는 단어는 제외)
+    public static List<List<String>> tokenizeQuery(String query) {
+        List<List<String>> words = new ArrayList<>();
+        if (query == null) {
+            return words;
+        }
+        int i = 0;
+        while (i < query.length()) {
+            while (i < query.length() && Character.isWhitespace(query.charAt(i))) {
+                i++;
+            }
+            int start = i;
+            while (i < query.length() && !Character.isWhitespace(query.charAt(i))) {
+                i++;
+            }
+            List<String> tokens = new ArrayList<>();
+            tokenize(query, start, i, false, tokens);
+            if (!tokens.isEmpty()) {
+                words.add(tokens);
+            }
+        }
+        return words;
+    }
+
+    private static void tokenize(String text, int from, int to, boolean unigrams, List<String> tokens) {
+        int i = from;
+        while (i < to) {
+            char c = text.charAt(i);
+            if (!Character.isLetterOrDigit(c)) {
+                i++;
+                continue;
+            }
+            boolean cjk = isCjk(c);
+            int start = i;
+            while (i < to && Character.isLetterOrDigit(text.charAt(i)) && isCjk(text.charAt(i)) == cjk) {
+                i++;
+            }
+            if (!cjk) {
+                tokens.add(text.substring(start, i).toLowerCase());
+            } else if (i - start == 1) {
+                tokens.add(String.valueOf(c));
+            } else {
+                for (int j = start; j + 1 < i; j++) {
+                    tokens.add(text.substring(j, j + 2));
+                }
+                if (unigrams) {
+                    for (int j = start; j < i; j++) {
+                        tokens.add(String.valueOf(text.charAt(j)));
+                    }
+                }
+            }
+        }
+    }
+
+    private static boolean isCjk(char c) {
+        Character.UnicodeScript script = Character.UnicodeScript.of(c);
+        return script == Character.UnicodeScript.HANGUL
+                || script == Character.UnicodeScript.HAN
+                || script == Character.UnicodeScript.HIRAGANA
+                || script == Character.UnicodeScript.KATAKANA;
+    }
+}
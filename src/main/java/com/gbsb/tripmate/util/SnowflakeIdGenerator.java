@@ -0,0 +1,59 @@
+package com.gbsb.tripmate.util;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+// 시간 순으로 증가하는 64bit id 생성기
+// [41bit: 기준 시각 이후 ms][10bit: 노드 id][12bit: 같은 ms 안의 순번]
+@Component
+public class SnowflakeIdGenerator {
+
+    private static final long EPOCH = 1704067200000L; // 2024-01-01T00:00:00Z
+    private static final int NODE_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    private static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private final long nodeId;
+    private long lastTimestamp = -1L;
+    private long sequence = 0L;
+
+    // 여러 노드가 같은 node id를 쓰면 같은 id가 만들어지므로,
+    // redis 모드(다중 노드)에서는 노드마다 id.generator.node-id를 반드시 지정해야 한다
+    public SnowflakeIdGenerator(@Value("${id.generator.node-id:}") String configuredNodeId,
+                                @Value("${chat.broker.mode:simple}") String brokerMode) {
+        boolean configured = configuredNodeId != null && !configuredNodeId.isBlank();
+        if (!configured && !"simple".equals(brokerMode)) {
+            throw new IllegalStateException("id.generator.node-id must be set per node when chat.broker.mode=" + brokerMode);
+        }
+        long nodeId = configured ? Long.parseLong(configuredNodeId.trim()) : 0L;
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("node id must be between 0 and " + MAX_NODE_ID);
+        }
+        this.nodeId = nodeId;
+    }
+
+    public synchronized long nextId() {
+        long timestamp = System.currentTimeMillis();
+
+        // 시계가 뒤로 가면 마지막 시각을 계속 사용해 순서를 유지
+        if (timestamp < lastTimestamp) {
+            timestamp = lastTimestamp;
+        }
+
+        if (timestamp == lastTimestamp) {
+            sequence = (sequence + 1) & SEQUENCE_MASK;
+            if (sequence == 0) {
+                // 같은 ms 안의 순번을 모두 사용하면 다음 ms까지 대기
+                while (timestamp <= lastTimestamp) {
+                    timestamp = System.currentTimeMillis();
+                }
+            }
+        } else {
+            sequence = 0L;
+        }
+
+        lastTimestamp = timestamp;
+        return ((timestamp - EPOCH) << (NODE_BITS + SEQUENCE_BITS)) | (nodeId << SEQUENCE_BITS) | sequence;
+    }
+}
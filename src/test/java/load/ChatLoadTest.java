@@ -0,0 +1,274 @@
+package load;
+
+import com.gbsb.tripmate.TripMateApplication;
+import com.gbsb.tripmate.dto.ChatMessageDTO;
+import com.gbsb.tripmate.entity.ChatRoom;
+import com.gbsb.tripmate.entity.Meeting;
+import com.gbsb.tripmate.entity.MeetingMember;
+import com.gbsb.tripmate.entity.User;
+import com.gbsb.tripmate.enums.Gender;
+import com.gbsb.tripmate.repository.MeetingMemberRepository;
+import com.gbsb.tripmate.repository.MeetingRepository;
+import com.gbsb.tripmate.repository.UserRepository;
+import com.gbsb.tripmate.util.JwtUtil;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.stomp.*;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+import org.springframework.web.socket.sockjs.client.SockJsClient;
+import org.springframework.web.socket.sockjs.client.WebSocketTransport;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.reflect.Type;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// STOMP 채팅 부하 테스트 (기본 test 태스크에서는 제외, ./gradlew loadTest 로 실행)
+// -Dload.clients=2000 -Dload.rooms=50 -Dload.rate=1000 -Dload.duration-seconds=60 -Dload.warmup-seconds=5
+@Tag("load")
+@SpringBootTest(classes = TripMateApplication.class,
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "spring.datasource.url=jdbc:h2:mem:loadtest;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER;DB_CLOSE_DELAY=-1",
+                "spring.datasource.driver-class-name=org.h2.Driver",
+                "spring.datasource.username=sa",
+                "spring.datasource.password=",
+                "spring.jpa.hibernate.ddl-auto=create-drop",
+                "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "spring.jpa.show-sql=false",
+                "logging.level.org.hibernate.SQL=WARN",
+                "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+                "logging.level.org.springframework.web=WARN",
+                "logging.level.org.springdoc=WARN",
+                "cache.redis.enabled=false",
+                "management.health.redis.enabled=false",
+                "chat.broker.mode=simple",
+                "jwt.secret=load-test-secret-key-0123456789-abcdefghijklmnop",
+                "jwt.expiration=3600000",
+                "kakaomap.key=load-test"
+        })
+class ChatLoadTest {
+
+    private static final int CLIENTS = Integer.getInteger("load.clients", 1000);
+    private static final int ROOMS = Integer.getInteger("load.rooms", 20);
+    private static final int RATE = Integer.getInteger("load.rate", 500);
+    private static final int DURATION_SECONDS = Integer.getInteger("load.duration-seconds", 30);
+    private static final int WARMUP_SECONDS = Integer.getInteger("load.warmup-seconds", 5);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MeetingRepository meetingRepository;
+
+    @Autowired
+    private MeetingMemberRepository meetingMemberRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Test
+    void chatFanOut() throws Exception {
+        List<Meeting> rooms = createRooms();
+        List<Client> clients = createClients(rooms);
+
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        System.gc();
+        long heapBefore = memory.getHeapMemoryUsage().getUsed();
+
+        LatencyHistogram histogram = new LatencyHistogram();
+        AtomicLong received = new AtomicLong();
+
+        WebSocketStompClient stompClient = new WebSocketStompClient(
+                new SockJsClient(List.of(new WebSocketTransport(new StandardWebSocketClient()))));
+        stompClient.setMessageConverter(new MappingJackson2MessageConverter());
+
+        String url = "http://localhost:" + port + "/websocket";
+        List<StompSession> sessions = new ArrayList<>(clients.size());
+        for (Client client : clients) {
+            StompHeaders connectHeaders = new StompHeaders();
+            connectHeaders.add("Authorization", "Bearer " + client.token);
+            StompSession session = stompClient.connectAsync(url, new WebSocketHttpHeaders(), connectHeaders,
+                    new StompSessionHandlerAdapter() {
+                    }).get(10, TimeUnit.SECONDS);
+            session.subscribe("/sub/chat/room" + client.roomId, new StompFrameHandler() {
+                @Override
+                public Type getPayloadType(StompHeaders headers) {
+                    return ChatMessageDTO.class;
+                }
+
+                @Override
+                public void handleFrame(StompHeaders headers, Object payload) {
+                    long sentAt = Long.parseLong(((ChatMessageDTO) payload).getMessage());
+                    histogram.record(System.nanoTime() - sentAt);
+                    received.incrementAndGet();
+                }
+            });
+            sessions.add(session);
+        }
+        System.out.printf("Connected %d clients to %d rooms%n", sessions.size(), rooms.size());
+
+        // 10ms마다 rate/100 개씩 발행 (소수점은 누적)
+        AtomicLong sent = new AtomicLong();
+        ScheduledExecutorService publisher = Executors.newSingleThreadScheduledExecutor();
+        double perTick = RATE / 100.0;
+        double[] carry = new double[1];
+        int[] next = new int[1];
+        publisher.scheduleAtFixedRate(() -> {
+            carry[0] += perTick;
+            int count = (int) carry[0];
+            carry[0] -= count;
+            for (int i = 0; i < count; i++) {
+                int index = next[0]++ % sessions.size();
+                ChatMessageDTO message = ChatMessageDTO.builder()
+                        .roomId(clients.get(index).roomId)
+                        .message(String.valueOf(System.nanoTime()))
+                        .build();
+                sessions.get(index).send("/pub/chat/message", message);
+                sent.incrementAndGet();
+            }
+        }, 0, 10, TimeUnit.MILLISECONDS);
+
+        Thread.sleep(TimeUnit.SECONDS.toMillis(WARMUP_SECONDS));
+        histogram.reset();
+        received.set(0);
+        sent.set(0);
+
+        long started = System.nanoTime();
+        Thread.sleep(TimeUnit.SECONDS.toMillis(DURATION_SECONDS));
+        publisher.shutdown();
+        publisher.awaitTermination(5, TimeUnit.SECONDS);
+        // 전송 중인 메시지가 도착할 때까지 대기
+        Thread.sleep(2000);
+        double elapsedSeconds = (System.nanoTime() - started) / 1_000_000_000.0;
+
+        sessions.forEach(StompSession::disconnect);
+        stompClient.stop();
+
+        System.gc();
+        long heapAfter = memory.getHeapMemoryUsage().getUsed();
+
+        System.out.println("=== STOMP chat load ===");
+        System.out.printf("clients=%d rooms=%d rate=%d/s duration=%ds%n", CLIENTS, ROOMS, RATE, DURATION_SECONDS);
+        System.out.printf("published=%d (%.1f/s) delivered=%d (%.1f/s)%n",
+                sent.get(), sent.get() / elapsedSeconds, received.get(), received.get() / elapsedSeconds);
+        System.out.printf("latency ms p50=%.2f p99=%.2f p999=%.2f max=%.2f%n",
+                histogram.percentile(0.50) / 1e6, histogram.percentile(0.99) / 1e6,
+                histogram.percentile(0.999) / 1e6, histogram.max() / 1e6);
+        // 같은 JVM이므로 클라이언트 측 메모리도 포함된 값
+        System.out.printf("heap growth=%.1f MB (before=%.1f MB, after=%.1f MB)%n",
+                (heapAfter - heapBefore) / 1048576.0, heapBefore / 1048576.0, heapAfter / 1048576.0);
+
+        assertTrue(received.get() > 0, "no chat message was delivered");
+    }
+
+    // 모임 하나당 채팅방 하나 (채팅방 id와 모임 id가 같아야 한다)
+    private List<Meeting> createRooms() {
+        User leader = userRepository.save(newUser("leader"));
+        List<Meeting> rooms = new ArrayList<>(ROOMS);
+        for (int i = 0; i < ROOMS; i++) {
+            Meeting meeting = new Meeting();
+            meeting.setMeetingLeader(leader);
+            meeting.setMeetingTitle("load-" + i);
+            meeting.setChatRoom(ChatRoom.builder().name("load-" + i).user(leader).isDeleted(false).build());
+            meeting.setCreatedDate(LocalDate.now());
+            meeting.setIsDeleted(false);
+            Meeting saved = meetingRepository.save(meeting);
+            assertTrue(saved.getMeetingId().equals(saved.getChatRoom().getRoomId()),
+                    "meeting id and chat room id must match");
+            rooms.add(saved);
+        }
+        return rooms;
+    }
+
+    private List<Client> createClients(List<Meeting> rooms) {
+        List<Client> clients = new ArrayList<>(CLIENTS);
+        for (int i = 0; i < CLIENTS; i++) {
+            User user = userRepository.save(newUser("user" + i));
+            Meeting room = rooms.get(i % rooms.size());
+            meetingMemberRepository.save(MeetingMember.builder()
+                    .user(user)
+                    .meeting(room)
+                    .joinDate(LocalDate.now())
+                    .isLeader(false)
+                    .isRemoved(false)
+                    .build());
+            clients.add(new Client(room.getMeetingId(), jwtUtil.generateToken(user.getId(), user.getEmail(), user.getNickname(), 0L)));
+        }
+        return clients;
+    }
+
+    private User newUser(String name) {
+        User user = new User();
+        user.setEmail(name + "@load.test");
+        user.setPassword("load-test");
+        user.setNickname(name);
+        user.setName(name);
+        user.setGender(Gender.MALE);
+        user.setBirthdate(LocalDate.of(1995, 1, 1));
+        user.setCreatedDate(LocalDateTime.now());
+        return user;
+    }
+
+    private record Client(Long roomId, String token) {
+    }
+
+    // 로그 스케일 버킷 히스토그램 (약 1% 정밀도, 메모리 고정)
+    static class LatencyHistogram {
+        private static final double BASE = Math.log(1.01);
+        private static final int BUCKETS = 2200;
+
+        private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+        private final AtomicLong total = new AtomicLong();
+        private final AtomicLong max = new AtomicLong();
+
+        void record(long nanos) {
+            long value = Math.max(nanos, 1);
+            int bucket = (int) Math.min(BUCKETS - 1, Math.round(Math.log(value) / BASE));
+            counts.incrementAndGet(bucket);
+            total.incrementAndGet();
+            max.accumulateAndGet(value, Math::max);
+        }
+
+        void reset() {
+            for (int i = 0; i < BUCKETS; i++) {
+                counts.set(i, 0);
+            }
+            total.set(0);
+            max.set(0);
+        }
+
+        double percentile(double quantile) {
+            long target = (long) Math.ceil(total.get() * quantile);
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += counts.get(i);
+                if (seen >= target && seen > 0) {
+                    return Math.exp(i * BASE);
+                }
+            }
+            return max.get();
+        }
+
+        long max() {
+            return max.get();
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package messaging;
+
+import com.gbsb.tripmate.messaging.ChatBroadcast;
+import com.gbsb.tripmate.messaging.ChatBroadcastTransport;
+import com.gbsb.tripmate.messaging.ChatBrokerRelay;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.converter.StringMessageConverter;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.ExecutorSubscribableChannel;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ChatBrokerRelayTest {
+
+    // Redis pub/sub 대신 사용하는 메모리 transport (발행 노드를 포함한 모든 구독자에게 전달)
+    static class InMemoryTransport implements ChatBroadcastTransport {
+        private final List<Consumer<ChatBroadcast>> listeners = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void publish(ChatBroadcast broadcast) {
+            listeners.forEach(listener -> listener.accept(broadcast));
+        }
+
+        @Override
+        public void subscribe(Consumer<ChatBroadcast> listener) {
+            listeners.add(listener);
+        }
+    }
+
+    static class Node {
+        final ExecutorSubscribableChannel brokerChannel = new ExecutorSubscribableChannel();
+        final List<Message<?>> delivered = new CopyOnWriteArrayList<>();
+        final SimpMessagingTemplate template = new SimpMessagingTemplate(brokerChannel);
+
+        Node(ChatBroadcastTransport transport) {
+            template.setMessageConverter(new StringMessageConverter());
+            brokerChannel.addInterceptor(new ChatBrokerRelay(transport, brokerChannel));
+            brokerChannel.subscribe(delivered::add);
+        }
+    }
+
+    @Test
+    void chatRoomMessageIsDeliveredOnEveryNodeOnce() {
+        InMemoryTransport transport = new InMemoryTransport();
+        Node first = new Node(transport);
+        Node second = new Node(transport);
+
+        first.template.convertAndSend("/sub/chat/room1", "hello");
+
+        assertEquals(1, first.delivered.size());
+        assertEquals(1, second.delivered.size());
+
+        Message<?> received = second.delivered.get(0);
+        assertEquals("/sub/chat/room1", SimpMessageHeaderAccessor.getDestination(received.getHeaders()));
+        assertTrue(new String((byte[]) received.getPayload(), StandardCharsets.UTF_8).contains("hello"));
+    }
+
+    @Test
+    void otherDestinationsStayLocal() {
+        InMemoryTransport transport = new InMemoryTransport();
+        Node first = new Node(transport);
+        Node second = new Node(transport);
+
+        first.template.convertAndSend("/sub/notice", "local only");
+
+        assertEquals(1, first.delivered.size());
+        assertEquals(0, second.delivered.size());
+    }
+}
@@ -0,0 +1,108 @@
+package messaging;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gbsb.tripmate.dto.ChatMessageDTO;
+import com.gbsb.tripmate.dto.CompactChatMessage;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompEncoder;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.web.socket.sockjs.frame.Jackson2SockJsMessageCodec;
+
+import java.nio.charset.StandardCharsets;
+import java.util.function.IntFunction;
+import java.util.zip.Deflater;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// /websocket(SockJS + ChatMessageDTO)과 /ws(네이티브 + CompactChatMessage)의 메시지당 전송 바이트 비교
+// 결과는 README의 "채팅 웹소켓 엔드포인트" 표에 정리
+class ChatEnvelopeSizeTest {
+
+    private static final int MESSAGES = 100;
+    private static final String[] TEXTS = {
+            "내일 아침 9시에 제주공항 3번 게이트 앞에서 만나요!",
+            "점심은 성산일출봉 근처 고기국수 어때요?",
+            "렌트카 예약 완료했습니다 :)",
+            "숙소 체크인은 오후 3시부터래요",
+            "오늘 일정 수고하셨어요 내일 봬요~"
+    };
+    private static final String[] WRITERS = {"여행하는호랑이", "제주토박이", "바다보러가자", "gbsb"};
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final StompEncoder stompEncoder = new StompEncoder();
+    private final Jackson2SockJsMessageCodec sockJsCodec = new Jackson2SockJsMessageCodec();
+
+    @Test
+    void nativeCompactFrameIsSmallerThanSockJsFrame() throws Exception {
+        IntFunction<byte[]> sockJs = i -> sockJsFrame(stompFrame(json(message(i))));
+        IntFunction<byte[]> compact = i -> stompFrame(json(CompactChatMessage.from(message(i))));
+
+        double sockJsRaw = averageRaw(sockJs);
+        double compactRaw = averageRaw(compact);
+
+        System.out.println("bytes per message      raw    deflate(no context)  deflate(context takeover)");
+        System.out.printf("SockJS /websocket  %8.1f %14.1f %20.1f%n", sockJsRaw, averageDeflated(sockJs, false), averageDeflated(sockJs, true));
+        System.out.printf("native /ws         %8.1f %14.1f %20.1f%n", compactRaw, averageDeflated(compact, false), averageDeflated(compact, true));
+
+        assertTrue(compactRaw < sockJsRaw);
+    }
+
+    private ChatMessageDTO message(int i) {
+        return ChatMessageDTO.builder()
+                .roomId(42L)
+                .id(254318271823265792L + i * 4096L)
+                .writer(WRITERS[i % WRITERS.length])
+                .message(TEXTS[i % TEXTS.length] + " #" + i)
+                .createdAt(String.format("2024-09-12T09:%02d:%02d.123456", 15 + i / 60, i % 60))
+                .build();
+    }
+
+    private byte[] json(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // SimpleBroker가 구독자에게 보내는 MESSAGE 프레임
+    private byte[] stompFrame(byte[] payload) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.MESSAGE);
+        accessor.setNativeHeader("destination", "/sub/chat/room42");
+        accessor.setNativeHeader("content-type", "application/json");
+        accessor.setNativeHeader("subscription", "sub-0");
+        accessor.setNativeHeader("message-id", "f3k2x1ab-12");
+        return stompEncoder.encode(MessageBuilder.createMessage(payload, accessor.getMessageHeaders()));
+    }
+
+    private byte[] sockJsFrame(byte[] stompFrame) {
+        return sockJsCodec.encode(new String(stompFrame, StandardCharsets.UTF_8)).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private double averageRaw(IntFunction<byte[]> frames) {
+        long total = 0;
+        for (int i = 0; i < MESSAGES; i++) {
+            total += frames.apply(i).length;
+        }
+        return (double) total / MESSAGES;
+    }
+
+    // permessage-deflate: raw deflate + sync flush, 마지막 4바이트(00 00 ff ff)는 전송하지 않음
+    private double averageDeflated(IntFunction<byte[]> frames, boolean contextTakeover) {
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        byte[] buffer = new byte[4096];
+        long total = 0;
+        for (int i = 0; i < MESSAGES; i++) {
+            if (!contextTakeover) {
+                deflater.reset();
+            }
+            deflater.setInput(frames.apply(i));
+            int length = deflater.deflate(buffer, 0, buffer.length, Deflater.SYNC_FLUSH);
+            total += length - 4;
+        }
+        deflater.end();
+        return (double) total / MESSAGES;
+    }
+}
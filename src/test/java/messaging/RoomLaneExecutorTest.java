@@ -0,0 +1,121 @@
+package messaging;
+
+import com.gbsb.tripmate.messaging.RoomLaneExecutor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RoomLaneExecutorTest {
+
+    private static final int LANES = 4;
+    private static final int MESSAGES = 1_000;
+
+    private RoomLaneExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = new RoomLaneExecutor(new SimpleMeterRegistry(), LANES, 10_000);
+        executor.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (executor.isRunning()) {
+            executor.stop();
+        }
+    }
+
+    @Test
+    void keepsArrivalOrderPerRoomOnOneLanePerRoom() {
+        List<Long> rooms = roomsOnDistinctLanes(3);
+        Map<Long, List<Integer>> processed = new ConcurrentHashMap<>();
+        Map<Long, Set<String>> threads = new ConcurrentHashMap<>();
+        rooms.forEach(room -> {
+            processed.put(room, Collections.synchronizedList(new ArrayList<>()));
+            threads.put(room, ConcurrentHashMap.newKeySet());
+        });
+
+        // 여러 채팅방의 메시지를 섞어서 제출
+        for (int i = 0; i < MESSAGES; i++) {
+            for (Long room : rooms) {
+                int order = i;
+                executor.execute(room, () -> {
+                    processed.get(room).add(order);
+                    threads.get(room).add(Thread.currentThread().getName());
+                }, e -> fail(e));
+            }
+        }
+        // 남은 작업을 모두 처리한 뒤 종료
+        executor.stop();
+
+        Set<String> usedThreads = new HashSet<>();
+        for (Long room : rooms) {
+            List<Integer> orders = processed.get(room);
+            assertEquals(MESSAGES, orders.size());
+            for (int i = 0; i < MESSAGES; i++) {
+                assertEquals(i, orders.get(i));
+            }
+            assertEquals(1, threads.get(room).size());
+            usedThreads.addAll(threads.get(room));
+        }
+        assertEquals(rooms.size(), usedThreads.size());
+    }
+
+    @Test
+    void roomsOnDifferentLanesRunInParallel() throws InterruptedException {
+        List<Long> rooms = roomsOnDistinctLanes(2);
+        CountDownLatch secondStarted = new CountDownLatch(1);
+        CountDownLatch firstDone = new CountDownLatch(1);
+        AtomicBoolean sawSecond = new AtomicBoolean();
+
+        // 첫 번째 채팅방 작업이 lane을 붙잡고 있는 동안 두 번째 채팅방 작업이 실행되어야 한다
+        executor.execute(rooms.get(0), () -> {
+            try {
+                sawSecond.set(secondStarted.await(5, TimeUnit.SECONDS));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            firstDone.countDown();
+        }, e -> fail(e));
+        executor.execute(rooms.get(1), secondStarted::countDown, e -> fail(e));
+
+        assertTrue(firstDone.await(10, TimeUnit.SECONDS));
+        assertTrue(sawSecond.get());
+    }
+
+    @Test
+    void reportsFailureAndKeepsLaneRunning() throws InterruptedException {
+        Long room = 1L;
+        AtomicReference<Exception> reported = new AtomicReference<>();
+        CountDownLatch next = new CountDownLatch(1);
+
+        executor.execute(room, () -> {
+            throw new IllegalStateException("boom");
+        }, reported::set);
+        executor.execute(room, next::countDown, e -> fail(e));
+
+        assertTrue(next.await(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, reported.get());
+    }
+
+    private List<Long> roomsOnDistinctLanes(int count) {
+        List<Long> rooms = new ArrayList<>();
+        Set<Integer> lanes = new HashSet<>();
+        for (long room = 1; rooms.size() < count; room++) {
+            if (lanes.add(executor.laneOf(room))) {
+                rooms.add(room);
+            }
+        }
+        return rooms;
+    }
+}
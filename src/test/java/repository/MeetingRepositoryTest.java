@@ -0,0 +1,116 @@
+package repository;
+
+import com.gbsb.tripmate.TripMateApplication;
+import com.gbsb.tripmate.dto.MeetingResponse;
+import com.gbsb.tripmate.entity.ChatRoom;
+import com.gbsb.tripmate.entity.Meeting;
+import com.gbsb.tripmate.entity.User;
+import com.gbsb.tripmate.enums.Gender;
+import com.gbsb.tripmate.repository.MeetingRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ContextConfiguration;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:repository;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ContextConfiguration(classes = TripMateApplication.class)
+class MeetingRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private MeetingRepository meetingRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    // 모임장/채팅방을 따로 읽지 않고 목록 쿼리 한 번, 삭제된 모임은 제외
+    @Test
+    void listsMeetingsWithOneQueryAndSkipsDeleted() {
+        for (int i = 0; i < 4; i++) {
+            User leader = user(i);
+            entityManager.persist(Meeting.builder()
+                    .meetingLeader(leader)
+                    .meetingTitle("모임 " + i)
+                    .destination("제주")
+                    .chatRoom(ChatRoom.builder().name("모임 " + i).user(leader).isDeleted(false).build())
+                    .createdDate(LocalDate.of(2030, 1, 1 + i))
+                    .travelStartDate(LocalDate.of(2030, 2, 1))
+                    .travelEndDate(LocalDate.of(2030, 2, 3))
+                    .isDeleted(i == 2)
+                    .build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        Page<MeetingResponse> page = meetingRepository.findMeetingList(PageRequest.of(0, 10, Sort.by("createdDate").ascending()));
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(List.of("모임 0", "모임 1", "모임 3"), page.map(MeetingResponse::getMeetingTitle).getContent());
+        assertEquals(List.of("leader0", "leader1", "leader3"), page.map(MeetingResponse::getLeaderNickname).getContent());
+    }
+
+    // 같은 날짜의 모임은 id로 순서를 정해 페이지 경계에서 빠지거나 겹치지 않는다
+    @Test
+    void feedSeeksByCreatedDateAndId() {
+        User leader = user(9);
+        List<Long> expected = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            Meeting meeting = entityManager.persist(Meeting.builder()
+                    .meetingLeader(leader)
+                    .meetingTitle("피드 " + i)
+                    .createdDate(LocalDate.of(2030, 3, 1 + i / 3))
+                    .isDeleted(i == 4)
+                    .build());
+            if (i != 4) {
+                expected.add(0, meeting.getMeetingId());
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        List<Long> seen = new ArrayList<>();
+        List<MeetingResponse> page = meetingRepository.findFeed(PageRequest.of(0, 2));
+        while (!page.isEmpty()) {
+            page.forEach(meeting -> seen.add(meeting.getId()));
+            MeetingResponse last = page.get(page.size() - 1);
+            page = meetingRepository.findFeedAfter(last.getCreatedDate(), last.getId(), PageRequest.of(0, 2));
+        }
+        assertEquals(expected, seen);
+    }
+
+    private User user(int i) {
+        User user = new User();
+        user.setEmail("leader" + i + "@example.com");
+        user.setPassword("password");
+        user.setNickname("leader" + i);
+        user.setName("모임장" + i);
+        user.setGender(Gender.MALE);
+        user.setBirthdate(LocalDate.of(1990, 1, 1));
+        return entityManager.persist(user);
+    }
+}
@@ -0,0 +1,135 @@
+package repository;
+
+import com.gbsb.tripmate.TripMateApplication;
+import com.gbsb.tripmate.entity.Meeting;
+import com.gbsb.tripmate.entity.TripParticipation;
+import com.gbsb.tripmate.entity.User;
+import com.gbsb.tripmate.enums.Gender;
+import com.gbsb.tripmate.repository.TripParticipationRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ContextConfiguration;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:repository;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ContextConfiguration(classes = TripMateApplication.class)
+class TripParticipationRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private TripParticipationRepository tripParticipationRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User user;
+    private Meeting meeting;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setEmail("trip@example.com");
+        user.setPassword("password");
+        user.setNickname("여행자");
+        user.setName("홍길동");
+        user.setGender(Gender.FEMALE);
+        user.setBirthdate(LocalDate.of(1995, 5, 5));
+        entityManager.persist(user);
+
+        meeting = entityManager.persist(Meeting.builder()
+                .meetingLeader(user)
+                .meetingTitle("제주 여행")
+                .build());
+
+        // 8/10 ~ 8/15 참여 중
+        tripParticipationRepository.save(TripParticipation.builder()
+                .user(user)
+                .meeting(meeting)
+                .startDate(LocalDate.of(2030, 8, 10))
+                .endDate(LocalDate.of(2030, 8, 15))
+                .build());
+    }
+
+    @Test
+    void overlapIncludesBothEnds() {
+        assertTrue(overlaps(8, 1, 8, 10));
+        assertTrue(overlaps(8, 15, 8, 20));
+        assertTrue(overlaps(8, 12, 8, 12));
+        assertTrue(overlaps(8, 1, 8, 31));
+    }
+
+    @Test
+    void adjacentRangesDoNotOverlap() {
+        assertFalse(overlaps(8, 1, 8, 9));
+        assertFalse(overlaps(8, 16, 8, 20));
+    }
+
+    @Test
+    void deletesOnlyThatMeeting() {
+        Meeting other = entityManager.persist(Meeting.builder()
+                .meetingLeader(user)
+                .meetingTitle("부산 여행")
+                .build());
+        tripParticipationRepository.save(TripParticipation.builder()
+                .user(user)
+                .meeting(other)
+                .startDate(LocalDate.of(2030, 9, 1))
+                .endDate(LocalDate.of(2030, 9, 3))
+                .build());
+
+        assertEquals(1, tripParticipationRepository.deleteByMeetingAndUser(meeting.getMeetingId(), user.getId()));
+        assertFalse(overlaps(8, 10, 8, 15));
+        assertTrue(overlaps(9, 2, 9, 2));
+    }
+
+    // 탈퇴/내보내기 정리는 날짜 수, 다른 모임 참여 여부와 관계없이 DELETE 한 번
+    @Test
+    void cleanupIsSingleStatement() {
+        for (int i = 0; i < 5; i++) {
+            Meeting other = entityManager.persist(Meeting.builder()
+                    .meetingLeader(user)
+                    .meetingTitle("여행 " + i)
+                    .build());
+            tripParticipationRepository.save(TripParticipation.builder()
+                    .user(user)
+                    .meeting(other)
+                    .startDate(LocalDate.of(2031, 1 + i, 1))
+                    .endDate(LocalDate.of(2031, 1 + i, 28))
+                    .build());
+        }
+        entityManager.flush();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        tripParticipationRepository.deleteByMeetingAndUser(meeting.getMeetingId(), user.getId());
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(5, tripParticipationRepository.count());
+    }
+
+    private boolean overlaps(int startMonth, int startDay, int endMonth, int endDay) {
+        return tripParticipationRepository.existsOverlapping(user.getId(),
+                LocalDate.of(2030, startMonth, startDay), LocalDate.of(2030, endMonth, endDay));
+    }
+}
@@ -0,0 +1,180 @@
+package search;
+
+import com.gbsb.tripmate.dto.ChatMessageResponse;
+import com.gbsb.tripmate.event.ChatPersistedEvent;
+import com.gbsb.tripmate.search.ChatSearchIndex;
+import com.gbsb.tripmate.store.ChatEntry;
+import com.gbsb.tripmate.store.ChatStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.LongSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ChatSearchIndexTest {
+
+    private static final long ROOM = 7L;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void matchesKoreanWithParticlesAndRanksByCoverage() throws Exception {
+        FakeChatStore store = new FakeChatStore();
+        ChatSearchIndex index = open(store);
+        persist(index, store, "내일 제주공항에서 만나요", "제주 맛집 추천 부탁해요", "공항 가는 버스 몇 시?", "KTX 타고 부산 가요");
+
+        assertEquals(List.of(1L), ids(index.search(ROOM, "제주공항", 10)));
+        assertEquals(List.of(4L), ids(index.search(ROOM, "ktx", 10)));
+        // 두 단어 모두 포함한 메시지가 먼저
+        assertEquals(2L, index.search(ROOM, "제주 맛집", 10).get(0).getMessageId());
+        assertTrue(index.search(ROOM, "서울역", 10).isEmpty());
+        index.close();
+    }
+
+    @Test
+    void reloadsFromFilesAndCatchesUpFromStore() throws Exception {
+        FakeChatStore store = new FakeChatStore();
+        ChatSearchIndex index = open(store);
+        // 스냅샷(2건) + 로그(1건)
+        persist(index, store, "제주 렌터카 예약했어요", "숙소는 애월 쪽으로");
+        persist(index, store, "렌터카 보험 추가함");
+        index.close();
+
+        // 두 번째 인스턴스의 ChatStore에는 재시작 중에 저장된 메시지만 있다 -> 앞의 메시지는 파일에서 읽어야 한다
+        FakeChatStore restarted = new FakeChatStore();
+        restarted.messages.addAll(store.messages);
+        restarted.messages.add(new ChatMessageResponse(4L, ROOM, 4L, "writer", "렌터카 반납은 공항에서", LocalDateTime.now()));
+        restarted.hideUpTo = 3;
+        ChatSearchIndex reopened = open(restarted);
+
+        assertEquals(List.of(4L, 3L, 1L), ids(reopened.search(ROOM, "렌터카", 10)).stream().sorted(Comparator.reverseOrder()).toList());
+        assertEquals(List.of(2L), ids(reopened.search(ROOM, "애월", 10)));
+        reopened.close();
+    }
+
+    @Test
+    void matchesSingleHangulSyllableInsideWords() throws Exception {
+        FakeChatStore store = new FakeChatStore();
+        ChatSearchIndex index = open(store);
+        persist(index, store, "밥먹자", "차 타고 가요", "기차 시간 알려줘", "내일 봐요");
+
+        assertEquals(List.of(1L), ids(index.search(ROOM, "밥", 10)));
+        assertEquals(Set.of(2L, 3L), new HashSet<>(ids(index.search(ROOM, "차", 10))));
+        // 두 글자 이상 검색어는 2-gram으로만 찾는다
+        assertEquals(List.of(1L), ids(index.search(ROOM, "먹자", 10)));
+        assertTrue(index.search(ROOM, "밥차", 10).isEmpty());
+        index.close();
+    }
+
+    @Test
+    void waitsForMissingSeqBeforeIndexingLaterMessages() throws Exception {
+        FakeChatStore store = new FakeChatStore();
+        ChatSearchIndex index = open(store);
+        persist(index, store, "첫 메시지");
+
+        // seq 2는 다른 노드에서 아직 저장 중이고 seq 3이 먼저 저장됨
+        ChatMessageResponse late = new ChatMessageResponse(2L, ROOM, 2L, "writer", "늦게 저장된 렌터카", LocalDateTime.now());
+        store.messages.add(new ChatMessageResponse(3L, ROOM, 3L, "writer", "먼저 저장된 렌터카", LocalDateTime.now()));
+        index.onPersisted(new ChatPersistedEvent(List.of(new ChatEntry(3L, ROOM, 3L, null, "writer", "먼저 저장된 렌터카", LocalDateTime.now()))));
+        index.drain();
+        assertTrue(index.search(ROOM, "렌터카", 10).isEmpty());
+
+        // seq 2가 저장되면 2, 3을 순서대로 색인
+        store.messages.add(1, late);
+        index.onPersisted(new ChatPersistedEvent(List.of(new ChatEntry(2L, ROOM, 2L, null, "writer", late.getMessage(), LocalDateTime.now()))));
+        index.drain();
+        assertEquals(Set.of(2L, 3L), new HashSet<>(ids(index.search(ROOM, "렌터카", 10))));
+        index.close();
+    }
+
+    @Test
+    void snippetIsCutAroundFirstMatch() {
+        String text = "a".repeat(50) + "제주공항" + "b".repeat(100);
+        String snippet = ChatSearchIndex.snippet(text, "제주공항");
+        assertTrue(snippet.startsWith("…" + "a".repeat(20) + "제주공항"));
+        assertTrue(snippet.endsWith("b".repeat(60) + "…"));
+    }
+
+    private ChatSearchIndex open(ChatStore store) throws Exception {
+        ChatSearchIndex index = new ChatSearchIndex(store, new SimpleMeterRegistry(), directory.toString(),
+                100, 60_000, 2, 1000, 50_000, 1000, 60_000, 1000);
+        index.open();
+        return index;
+    }
+
+    private static void persist(ChatSearchIndex index, FakeChatStore store, String... messages) {
+        List<ChatEntry> entries = new ArrayList<>();
+        for (String message : messages) {
+            long seq = store.messages.size() + 1;
+            store.messages.add(new ChatMessageResponse(seq, ROOM, seq, "writer", message, LocalDateTime.now()));
+            entries.add(new ChatEntry(seq, ROOM, seq, null, "writer", message, LocalDateTime.now()));
+        }
+        index.onPersisted(new ChatPersistedEvent(entries));
+        index.drain();
+    }
+
+    private static List<Long> ids(List<ChatSearchIndex.Hit> hits) {
+        return hits.stream().map(ChatSearchIndex.Hit::getMessageId).toList();
+    }
+
+    // id = seq 인 메시지 목록, hideUpTo 이하의 seq는 findSince로 보이지 않는다
+    private static class FakeChatStore implements ChatStore {
+        private final List<ChatMessageResponse> messages = new ArrayList<>();
+        private long hideUpTo;
+
+        @Override
+        public boolean append(ChatEntry entry, LongSupplier sequence) {
+            entry.setSeq(sequence.getAsLong());
+            return true;
+        }
+
+        @Override
+        public List<ChatMessageResponse> findHistory(Long roomId, long before, int limit) {
+            return List.of();
+        }
+
+        @Override
+        public List<ChatMessageResponse> findByIds(Long roomId, Collection<Long> ids) {
+            return messages.stream().filter(message -> ids.contains(message.getId())).toList();
+        }
+
+        @Override
+        public List<ChatMessageResponse> findSince(Long roomId, long afterSeq, int limit) {
+            return messages.stream()
+                    .filter(message -> message.getSeq() > Math.max(afterSeq, hideUpTo))
+                    .limit(limit)
+                    .toList();
+        }
+
+        @Override
+        public long latestId(Long roomId) {
+            return messages.isEmpty() ? 0 : messages.get(messages.size() - 1).getId();
+        }
+
+        @Override
+        public long maxSeq(Long roomId) {
+            return messages.size();
+        }
+
+        @Override
+        public long countAfter(Long roomId, long afterId) {
+            return 0;
+        }
+
+        @Override
+        public Map<Long, Map<Long, Long>> countUnread(Collection<Long> userIds) {
+            return Map.of();
+        }
+
+        @Override
+        public void flush() {
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package store;
+
+import com.gbsb.tripmate.dto.ChatMessageResponse;
+import com.gbsb.tripmate.store.ChatEntry;
+import com.gbsb.tripmate.store.SegmentLogChatStore;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// 세그먼트 로그 조회 결과를 append 한 메시지 목록을 그대로 훑은 결과와 비교
+class SegmentLogChatStoreTest {
+
+    // 레코드 하나가 70B 안팎이라 세그먼트마다 10여 개씩 들어간다
+    private static final int SEGMENT_BYTES = 1024;
+    private static final int INDEX_INTERVAL = 4;
+    private static final List<Long> ROOMS = List.of(1L, 2L, 3L);
+
+    @TempDir
+    Path directory;
+
+    private final List<ChatEntry> appended = new ArrayList<>();
+    private final Map<Long, Long> sequences = new HashMap<>();
+    private long nextId = 1_000;
+
+    @Test
+    void readsAcrossSegmentRollsAndAfterReopen() throws IOException {
+        SegmentLogChatStore store = open(720);
+        appendMessages(store, 300);
+        assertTrue(segmentFiles().size() > 5);
+        assertMatchesScan(store, appended);
+        store.close();
+
+        // 기동 시 세그먼트를 다시 읽어 만든 인덱스로도 같은 결과
+        SegmentLogChatStore reopened = open(720);
+        assertMatchesScan(reopened, appended);
+        for (Long roomId : ROOMS) {
+            assertEquals(sequences.get(roomId), reopened.maxSeq(roomId));
+        }
+        reopened.close();
+    }
+
+    @Test
+    void truncatesCorruptedTailOnReopen() throws IOException {
+        SegmentLogChatStore store = open(720);
+        appendMessages(store, 100);
+        store.close();
+
+        corruptLastRecord(segmentFiles().get(segmentFiles().size() - 1));
+        ChatEntry lost = appended.remove(appended.size() - 1);
+        sequences.put(lost.getRoomId(), lost.getSeq() - 1);
+
+        SegmentLogChatStore reopened = open(720);
+        assertMatchesScan(reopened, appended);
+        assertEquals(lost.getSeq() - 1, reopened.maxSeq(lost.getRoomId()));
+
+        // 잘린 위치부터 이어서 쓴다
+        appendMessages(reopened, 30);
+        assertMatchesScan(reopened, appended);
+        reopened.close();
+
+        SegmentLogChatStore again = open(720);
+        assertMatchesScan(again, appended);
+        again.close();
+    }
+
+    @Test
+    void dropsExpiredSegmentsOnOpen() throws IOException {
+        SegmentLogChatStore store = open(1);
+        appendMessages(store, 200);
+        store.close();
+
+        List<Path> files = segmentFiles();
+        Path last = files.get(files.size() - 1);
+        FileTime expired = FileTime.from(Instant.now().minus(2, ChronoUnit.HOURS));
+        for (Path file : files.subList(0, files.size() - 1)) {
+            Files.setLastModifiedTime(file, expired);
+        }
+
+        SegmentLogChatStore reopened = open(1);
+        assertEquals(List.of(last), segmentFiles());
+        long firstRetainedId = firstRecordId(last);
+        List<ChatEntry> retained = appended.stream().filter(entry -> entry.getId() >= firstRetainedId).toList();
+        assertTrue(retained.size() < appended.size());
+        assertMatchesScan(reopened, retained);
+        // 삭제된 메시지가 있어도 순번은 이어진다
+        for (Long roomId : ROOMS) {
+            assertEquals(sequences.get(roomId), reopened.maxSeq(roomId));
+        }
+        reopened.close();
+    }
+
+    private SegmentLogChatStore open(long retentionHours) throws IOException {
+        SegmentLogChatStore store = new SegmentLogChatStore(null, event -> { }, null, directory.toString(),
+                SEGMENT_BYTES, INDEX_INTERVAL, retentionHours, 60_000, 60_000);
+        store.open();
+        return store;
+    }
+
+    private void appendMessages(SegmentLogChatStore store, int count) {
+        for (int i = 0; i < count; i++) {
+            Long roomId = ROOMS.get(i % ROOMS.size());
+            ChatEntry entry = new ChatEntry(nextId++, roomId, null, null, "writer", "message " + i, LocalDateTime.now());
+            assertTrue(store.append(entry, () -> sequences.merge(roomId, 1L, Long::sum)));
+            appended.add(entry);
+        }
+    }
+
+    private void assertMatchesScan(SegmentLogChatStore store, List<ChatEntry> entries) {
+        for (Long roomId : ROOMS) {
+            List<ChatEntry> room = entries.stream().filter(entry -> entry.getRoomId().equals(roomId)).toList();
+            List<Long> ids = room.stream().map(ChatEntry::getId).toList();
+            long firstId = ids.get(0);
+            long lastId = ids.get(ids.size() - 1);
+
+            for (long before : new long[]{Long.MAX_VALUE, lastId, lastId - 7, firstId + 20, firstId + 1, firstId}) {
+                for (int limit : new int[]{1, 5, 50, 1_000}) {
+                    List<Long> expected = room.stream().map(ChatEntry::getId)
+                            .filter(id -> id < before)
+                            .sorted(Comparator.reverseOrder())
+                            .limit(limit)
+                            .toList();
+                    assertEquals(expected, ids(store.findHistory(roomId, before, limit)), "history before " + before);
+                }
+            }
+
+            long firstSeq = room.get(0).getSeq();
+            long lastSeq = room.get(room.size() - 1).getSeq();
+            for (long afterSeq : new long[]{0, firstSeq - 1, firstSeq, firstSeq + 9, lastSeq - 3, lastSeq}) {
+                for (int limit : new int[]{1, 5, 50, 1_000}) {
+                    List<Long> expected = room.stream()
+                            .filter(entry -> entry.getSeq() > afterSeq)
+                            .limit(limit)
+                            .map(ChatEntry::getId)
+                            .toList();
+                    assertEquals(expected, ids(store.findSince(roomId, afterSeq, limit)), "since " + afterSeq);
+                }
+            }
+
+            for (long afterId : new long[]{0, firstId - 1, firstId, firstId + 13, lastId - 2, lastId}) {
+                long expected = ids.stream().filter(id -> id > afterId).count();
+                assertEquals(expected, store.countAfter(roomId, afterId), "count after " + afterId);
+            }
+
+            assertEquals(lastId, store.latestId(roomId));
+
+            List<Long> existing = List.of(firstId, ids.get(ids.size() / 2), lastId);
+            List<Long> lookup = new ArrayList<>(existing);
+            lookup.add(lastId + 1_000_000);
+            assertEquals(new HashSet<>(existing), new HashSet<>(ids(store.findByIds(roomId, new HashSet<>(lookup)))));
+        }
+    }
+
+    private static List<Long> ids(List<ChatMessageResponse> messages) {
+        return messages.stream().map(ChatMessageResponse::getId).toList();
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(".log")).sorted().toList();
+        }
+    }
+
+    // 레코드: [length int][crc int][id long]... length는 자기 자신을 뺀 바이트 수
+    private static void corruptLastRecord(Path file) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+        int last = -1;
+        int at = 0;
+        while (at + 4 <= buffer.capacity() && buffer.getInt(at) > 0) {
+            last = at;
+            at += 4 + buffer.getInt(at);
+        }
+        assertTrue(last >= 0);
+        // 메시지 마지막 바이트를 바꿔 CRC가 맞지 않게 한다
+        int target = last + 4 + buffer.getInt(last) - 1;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{(byte) (buffer.get(target) ^ 0x5A)}), target);
+        }
+    }
+
+    private static long firstRecordId(Path file) throws IOException {
+        return ByteBuffer.wrap(Files.readAllBytes(file)).getLong(8);
+    }
+}
@@ -0,0 +1,31 @@
+package util;
+
+import com.gbsb.tripmate.util.AhoCorasick;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class AhoCorasickTest {
+
+    private final AhoCorasick automaton = AhoCorasick.build(List.of("he", "she", "his", "hers", "시발", "FUCK", "bc", "abcd"));
+
+    @Test
+    void masksOverlappingMatches() {
+        assertEquals("u***** and ***", automaton.mask("ushers and his"));
+        assertEquals("a**e ****", automaton.mask("abce abcd"));
+    }
+
+    @Test
+    void masksKoreanAndIgnoresAsciiCase() {
+        assertEquals("아 ** 진짜 ****", automaton.mask("아 시발 진짜 fUcK"));
+    }
+
+    @Test
+    void returnsSameInstanceWhenClean() {
+        String message = "내일 9시에 만나요";
+        assertSame(message, automaton.mask(message));
+    }
+}